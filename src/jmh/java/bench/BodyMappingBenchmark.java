@@ -0,0 +1,79 @@
+package bench;
+
+import auth.LoginRequest;
+import auth.LoginResponse;
+import config.ApiConfig;
+import config.Json;
+import io.restassured.RestAssured;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import stub.DummyJsonStub;
+
+import java.util.concurrent.TimeUnit;
+
+// The RestAssured mapping layer alone, without HTTP: a LoginRequest body going into a request spec and a
+// LoginResponse body coming out of .as(...). "jackson2" is RestAssured's content-type based mapping
+// (the shared ObjectMapper through jackson2ObjectMapperFactory, bodies serialized to a String);
+// "shared" is ApiConfig's default object mapper with Json's cached per-type reader/writer and byte[] bodies.
+// Run with -prof gc to compare allocation per operation.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BodyMappingBenchmark {
+
+    @Param({"jackson2", "shared"})
+    public String mapping;
+
+    private static final LoginRequest LOGIN = new LoginRequest("emilys", "emilyspass", 60);
+
+    private RestAssuredConfig config;
+    private Response response;
+
+    @Setup
+    public void setUp() {
+        config = mapping.equals("shared")
+                ? ApiConfig.restAssuredConfig()
+                : RestAssuredConfig.config().objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((type, charset) -> Json.mapper()));
+        // a real response, so it carries config; its body is buffered and re-mapped on every .as(...)
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            response = RestAssured.given()
+                    .config(config)
+                    .baseUri(stub.baseUri())
+                    .contentType(ContentType.JSON)
+                    .body(Json.write(LOGIN))
+                    .post("/auth/login");
+            response.asByteArray();
+        }
+    }
+
+    @Benchmark
+    public Object serializeRequestBody() {
+        return ((FilterableRequestSpecification) RestAssured.given()
+                .config(config)
+                .contentType(ContentType.JSON)
+                .body(LOGIN)).getBody();
+    }
+
+    @Benchmark
+    public LoginResponse deserializeResponseBody() {
+        return response.as(LoginResponse.class);
+    }
+}
@@ -0,0 +1,77 @@
+package bench;
+
+import auth.AuthClient;
+import auth.LoginRequest;
+import auth.LoginResponse;
+import config.ApiConfig;
+import config.AsyncTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import products.Product;
+import products.ProductsAsyncClient;
+import products.ProductsClient;
+import products.ProductsResponse;
+import stub.DummyJsonStub;
+
+import java.util.concurrent.TimeUnit;
+
+// Full client calls (request building, HTTP over loopback, deserialization) against the in-process stub.
+// The stub runs in the benchmark JVM, so numbers include its cost too: compare runs, not absolutes.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientCallBenchmark {
+
+    private static final LoginRequest LOGIN = new LoginRequest("emilys", "emilyspass", 60);
+
+    private DummyJsonStub stub;
+    private ProductsClient products;
+    private ProductsAsyncClient productsAsync;
+    private AuthClient auth;
+
+    @Setup
+    public void setUp() {
+        stub = DummyJsonStub.start(0);
+        products = new ProductsClient(ApiConfig.requestSpec(stub.baseUri()));
+        auth = new AuthClient(ApiConfig.requestSpec(stub.baseUri()));
+        productsAsync = new ProductsAsyncClient(new AsyncTransport(ApiConfig.asyncTransport().httpClient(),
+                stub.baseUri(), ApiConfig.transport().readTimeout()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        stub.close();
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return products.getProductById(1);
+    }
+
+    @Benchmark
+    public ProductsResponse getAllProducts() {
+        return products.getAllProducts();
+    }
+
+    @Benchmark
+    public LoginResponse login() {
+        return auth.login(LOGIN);
+    }
+
+    @Benchmark
+    public Product getProductByIdAsync() {
+        return productsAsync.getProductById(1).join();
+    }
+}
@@ -0,0 +1,218 @@
+package bench;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpPrincipal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Serves DummyJsonStub's handler from Jetty on one port that speaks HTTP/1.1 and h2c (cleartext HTTP/2
+// via "Upgrade: h2c"), so both protocol versions are measured against the same server.
+final class H2cStubServer implements AutoCloseable {
+
+    private final Server server;
+    private final ServerConnector connector;
+
+    private H2cStubServer(HttpHandler handler) {
+        QueuedThreadPool threads = new QueuedThreadPool(64);
+        threads.setDaemon(true);
+        server = new Server(threads);
+        HttpConfiguration config = new HttpConfiguration();
+        connector = new ServerConnector(server, new HttpConnectionFactory(config), new HTTP2CServerConnectionFactory(config));
+        connector.setHost("127.0.0.1");
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request base, HttpServletRequest request, HttpServletResponse response)
+                    throws IOException {
+                base.setHandled(true);
+                handler.handle(new ServletExchange(request, response));
+            }
+        });
+    }
+
+    static H2cStubServer start(HttpHandler handler) {
+        H2cStubServer stub = new H2cStubServer(handler);
+        try {
+            stub.server.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start h2c stub", e);
+        }
+        return stub;
+    }
+
+    String baseUri() {
+        return "http://127.0.0.1:" + connector.getLocalPort();
+    }
+
+    // connections currently open on the server: one per in-flight request for HTTP/1.1, one in total for HTTP/2
+    int openConnections() {
+        return connector.getConnectedEndPoints().size();
+    }
+
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not stop h2c stub", e);
+        }
+    }
+
+    // the parts of HttpExchange the stub uses, on top of the servlet request/response
+    private static final class ServletExchange extends HttpExchange {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final Headers requestHeaders = new Headers();
+        private final Headers responseHeaders = new Headers();
+        private final Map<String, Object> attributes = new HashMap<>();
+        private int status = -1;
+        // set by a Filter through setStreams; null = the servlet's own stream
+        private InputStream in;
+        private OutputStream out;
+
+        ServletExchange(HttpServletRequest request, HttpServletResponse response) {
+            this.request = request;
+            this.response = response;
+            for (String name : Collections.list(request.getHeaderNames())) {
+                requestHeaders.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+
+        @Override
+        public Headers getRequestHeaders() {
+            return requestHeaders;
+        }
+
+        @Override
+        public Headers getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        @Override
+        public URI getRequestURI() {
+            String query = request.getQueryString();
+            return URI.create(request.getRequestURI() + (query == null ? "" : "?" + query));
+        }
+
+        @Override
+        public String getRequestMethod() {
+            return request.getMethod();
+        }
+
+        @Override
+        public HttpContext getHttpContext() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // the servlet container completes the response when the handler returns
+        }
+
+        @Override
+        public InputStream getRequestBody() {
+            if (in != null) {
+                return in;
+            }
+            try {
+                return request.getInputStream();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public OutputStream getResponseBody() {
+            if (out != null) {
+                return out;
+            }
+            try {
+                return response.getOutputStream();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void sendResponseHeaders(int code, long length) {
+            status = code;
+            response.setStatus(code);
+            for (Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+                header.getValue().forEach(value -> response.addHeader(header.getKey(), value));
+            }
+            if (length > 0) {
+                response.setContentLengthLong(length);
+            } else if (length < 0) {
+                response.setContentLengthLong(0);
+            }
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return new InetSocketAddress(request.getRemoteAddr(), request.getRemotePort());
+        }
+
+        @Override
+        public int getResponseCode() {
+            return status;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return new InetSocketAddress(request.getLocalAddr(), request.getLocalPort());
+        }
+
+        @Override
+        public String getProtocol() {
+            return request.getProtocol();
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void setStreams(InputStream in, OutputStream out) {
+            // as in the JDK server: a null argument leaves that stream as it is
+            if (in != null) {
+                this.in = in;
+            }
+            if (out != null) {
+                this.out = out;
+            }
+        }
+
+        @Override
+        public HttpPrincipal getPrincipal() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package bench;
+
+import auth.AuthAsyncClient;
+import auth.LoginRequest;
+import config.ApiConfig;
+import config.AsyncTransport;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import products.ProductsAsyncClient;
+import stub.DummyJsonStub;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// HTTP/1.1 vs HTTP/2 for the async clients, both against the stub behind one Jetty connector.
+// fanOut keeps FAN_OUT requests in flight: HTTP/1.1 needs a connection for each, HTTP/2 multiplexes
+// them over one. me repeats the same Bearer token, which HPACK sends as a table index after the first call.
+// The connections the server holds open at the end of each iteration are reported as openConnections.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Http2Benchmark {
+
+    private static final int FAN_OUT = 64;
+    private static final LoginRequest LOGIN = new LoginRequest("emilys", "emilyspass", 60);
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public HttpClient.Version version;
+
+    private DummyJsonStub stub;
+    private H2cStubServer server;
+    private ProductsAsyncClient products;
+    private AuthAsyncClient auth;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        stub = DummyJsonStub.start(0);
+        server = H2cStubServer.start(stub.handler());
+        AsyncTransport transport = new AsyncTransport(ApiConfig.newAsyncHttpClient(version), server.baseUri(),
+                ApiConfig.transport().readTimeout());
+        products = new ProductsAsyncClient(transport);
+        auth = new AuthAsyncClient(transport);
+        accessToken = auth.login(LOGIN).join().accessToken();
+
+        HttpResponse<byte[]> probe = auth.meRaw(accessToken).join();
+        if (probe.statusCode() != 200 || probe.version() != version) {
+            throw new IllegalStateException("Expected 200 over " + version + ", got " + probe.statusCode()
+                    + " over " + probe.version());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+        stub.close();
+    }
+
+    // secondary result next to the throughput; JMH only allows @AuxCounters on thread-scoped state
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Connections {
+
+        public long openConnections;
+
+        @TearDown(Level.Iteration)
+        public void count(Http2Benchmark benchmark) {
+            openConnections = benchmark.server.openConnections();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public Object fanOut(Connections connections) {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[FAN_OUT];
+        for (int i = 0; i < FAN_OUT; i++) {
+            calls[i] = products.getProductById(i % 30 + 1);
+        }
+        return CompletableFuture.allOf(calls).join();
+    }
+
+    @Benchmark
+    public HttpResponse<byte[]> me(Connections connections) {
+        return auth.meRaw(accessToken).join();
+    }
+}
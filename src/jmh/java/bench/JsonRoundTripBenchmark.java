@@ -0,0 +1,116 @@
+package bench;
+
+import auth.LoginResponse;
+import auth.RefreshResponse;
+import auth.User;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import config.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import products.Product;
+import products.ProductsResponse;
+import products.UpdateProductRequest;
+import stub.DummyJsonStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// JSON round trip (serialize + deserialize) of every client model with the shared mapper.
+// Payloads are real responses captured from the in-process stub. Product payloads are projected with
+// ?select= like the clients request them; "productUnprojected" is the full DummyJSON shape for comparison.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRoundTripBenchmark {
+
+    @Param({"product", "productUnprojected", "productsResponse", "loginResponse", "user", "refreshResponse", "updateProductRequest"})
+    public String model;
+
+    private static final String SELECT = String.join(",", Product.FIELDS);
+
+    private byte[] json;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() throws Exception {
+        Class<?> type = switch (model) {
+            case "product", "productUnprojected" -> Product.class;
+            case "productsResponse" -> ProductsResponse.class;
+            case "loginResponse" -> LoginResponse.class;
+            case "user" -> User.class;
+            case "refreshResponse" -> RefreshResponse.class;
+            case "updateProductRequest" -> UpdateProductRequest.class;
+            default -> throw new IllegalArgumentException(model);
+        };
+        json = payload(model);
+        reader = Json.mapper().readerFor(type);
+        writer = Json.mapper().writerFor(type);
+    }
+
+    @Benchmark
+    public Object deserialize() throws IOException {
+        return reader.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() throws IOException {
+        return writer.writeValueAsBytes(reader.readValue(json));
+    }
+
+    private static byte[] payload(String model) throws Exception {
+        if (model.equals("updateProductRequest")) {
+            return "{\"title\":\"Sofa\",\"price\":35}".getBytes();
+        }
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            HttpClient http = HttpClient.newHttpClient();
+            String base = stub.baseUri();
+            String login = "{\"username\":\"emilys\",\"password\":\"emilyspass\",\"expiresInMins\":60}";
+            return switch (model) {
+                case "product" -> get(http, base + "/products/1?select=" + SELECT);
+                case "productUnprojected" -> get(http, base + "/products/1");
+                case "productsResponse" -> get(http, base + "/products?limit=30&select=" + SELECT);
+                case "loginResponse" -> post(http, base + "/auth/login", login);
+                case "user" -> {
+                    LoginResponse tokens = Json.read(post(http, base + "/auth/login", login), LoginResponse.class);
+                    yield http.send(HttpRequest.newBuilder(URI.create(base + "/auth/me"))
+                            .header("Authorization", "Bearer " + tokens.accessToken()).build(),
+                            HttpResponse.BodyHandlers.ofByteArray()).body();
+                }
+                case "refreshResponse" -> {
+                    LoginResponse tokens = Json.read(post(http, base + "/auth/login", login), LoginResponse.class);
+                    yield post(http, base + "/auth/refresh", "{\"refreshToken\":\"" + tokens.refreshToken() + "\"}");
+                }
+                default -> throw new IllegalArgumentException(model);
+            };
+        }
+    }
+
+    private static byte[] get(HttpClient http, String uri) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(uri)).build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    private static byte[] post(HttpClient http, String uri, String body) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(uri))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
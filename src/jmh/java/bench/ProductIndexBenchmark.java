@@ -0,0 +1,67 @@
+package bench;
+
+import config.ApiConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import products.ProductsClient;
+import products.ProductsResponse;
+import stub.DummyJsonStub;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Search and category queries against the stub versus the local ProductIndex.
+// Inflate the catalogue with -Djmh.args="ProductIndex -jvmArgsAppend -Dstub.products=10000".
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductIndexBenchmark {
+
+    @Param({"phone", "red lip"})
+    public String query;
+
+    private DummyJsonStub stub;
+    private ProductsClient remote;
+    private ProductsClient local;
+
+    @Setup
+    public void setUp() {
+        stub = DummyJsonStub.start(0);
+        remote = new ProductsClient(ApiConfig.requestSpec(stub.baseUri()));
+        local = remote.withLocalIndex(Duration.ZERO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        local.localIndex().close();
+        stub.close();
+    }
+
+    @Benchmark
+    public ProductsResponse searchRemote() {
+        return remote.searchProductsByName(query);
+    }
+
+    @Benchmark
+    public ProductsResponse searchLocal() {
+        return local.searchProductsByName(query);
+    }
+
+    @Benchmark
+    public ProductsResponse categoryLocal() {
+        return local.getProductsByCategory("smartphones");
+    }
+}
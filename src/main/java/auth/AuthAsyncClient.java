@@ -0,0 +1,48 @@
+package auth;
+
+import config.ApiConfig;
+import config.AsyncTransport;
+
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking twin of AuthClient: same endpoints, same POJOs, CompletableFuture results.
+public class AuthAsyncClient {
+
+    private final AsyncTransport transport;
+
+    public AuthAsyncClient() {
+        this(ApiConfig.asyncTransport());
+    }
+
+    public AuthAsyncClient(AsyncTransport transport) {
+        this.transport = transport;
+    }
+
+    // ===== RAW =====
+    public CompletableFuture<HttpResponse<byte[]>> loginRaw(Object body) {
+        return transport.send("POST", "/auth/login", Map.of(), Map.of(), body);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> meRaw(String accessToken) {
+        return transport.send("GET", "/auth/me", Map.of(), Map.of("Authorization", "Bearer " + accessToken), null);
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> refreshRaw(Object body) {
+        return transport.send("POST", "/auth/refresh", Map.of(), Map.of(), body);
+    }
+
+    // ===== POJO (happy-path) =====
+    public CompletableFuture<LoginResponse> login(LoginRequest loginRequest) {
+        return transport.send("POST", "/auth/login", Map.of(), Map.of(), loginRequest, LoginResponse.class);
+    }
+
+    public CompletableFuture<User> me(String accessToken) {
+        return transport.send("GET", "/auth/me", Map.of(), Map.of("Authorization", "Bearer " + accessToken), null, User.class);
+    }
+
+    public CompletableFuture<RefreshResponse> refresh(RefreshRequest refreshRequest) {
+        return transport.send("POST", "/auth/refresh", Map.of(), Map.of(), refreshRequest, RefreshResponse.class);
+    }
+}
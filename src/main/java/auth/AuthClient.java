@@ -1,48 +1,61 @@
 package auth;
 
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
+import config.ApiConfig;
+import config.Json;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import resilience.Resilience;
 
 import static io.restassured.RestAssured.given;
 
 public class AuthClient {
 
+    private final RequestSpecification spec;
+    private final Resilience resilience;   // GET /auth/me may be retried; logins and refreshes are not
+
+    public AuthClient() {
+        this(ApiConfig.requestSpec());
+    }
+
+    // spec is never modified, so one AuthClient can be shared across threads
+    public AuthClient(RequestSpecification spec) {
+        this(spec, ApiConfig.resilience());
+    }
+
+    public AuthClient(RequestSpecification spec, Resilience resilience) {
+        this.spec = spec;
+        this.resilience = resilience;
+    }
+
 // ===== RAW =====
     public Response loginRaw (Object body){
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
-                .body(body)
+        return resilience.execute("POST", "/auth/login", () -> given(spec)
+                .body(Json.requestBody(body))
                 .when()
-                .post("/auth/login");
+                .post("/auth/login"));
     }
 
     public Response meRaw (String accessToken){
-        return RestAssured
-                .given()
+        return resilience.execute("GET", "/auth/me", () -> given(spec)
                 .header("Authorization","Bearer "+accessToken)
                 .when()
-                .get("/auth/me");
+                .get("/auth/me"));
     }
 
 
     public Response refreshRaw (Object body){
 
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
-                .body(body)
+        return resilience.execute("POST", "/auth/refresh", () -> given(spec)
+                .body(Json.requestBody(body))
                 .when()
-                .post("/auth/refresh");
+                .post("/auth/refresh"));
     }
 
     // RAW request without Authorization header (for negative tests)
     public Response meRaw() {
-        return RestAssured
-                .given()
+        return resilience.execute("GET", "/auth/me", () -> given(spec)
                 .when()
-                .get("/auth/me");
+                .get("/auth/me"));
     }
 
 
@@ -2,54 +2,7 @@ package auth;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+// the login payload also carries the whole user profile (name, gender, image, ...): only these are mapped
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class LoginResponse {
-    private String username;
-    private String accessToken;
-    private String refreshToken;
-    private int id;
-    private String email;
-
-    public LoginResponse (){}
-
-    public String getUsername() {
-        return username;
-    }
-
-    public void setUsername(String username) {
-        this.username = username;
-    }
-
-
-    public String getAccessToken() {
-        return accessToken;
-    }
-
-    public void setAccessToken(String accessToken) {
-        this.accessToken = accessToken;
-    }
-
-    public String getRefreshToken() {
-        return refreshToken;
-    }
-
-    public void setRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
-
-    public int getId() {
-        return id;
-    }
-
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    public String getEmail() {
-        return email;
-    }
-
-    public void setEmail(String email) {
-        this.email = email;
-    }
+public record LoginResponse(int id, String username, String email, String accessToken, String refreshToken) {
 }
@@ -1,26 +1,7 @@
 package auth;
 
-public class RefreshResponse {
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-    private String accessToken;
-    private String refreshToken;
-
-    public RefreshResponse(){
-    }
-
-    public String getAccessToken() {
-        return accessToken;
-    }
-
-    public void setAccessToken(String accessToken) {
-        this.accessToken = accessToken;
-    }
-
-    public String getRefreshToken() {
-        return refreshToken;
-    }
-
-    public void setRefreshToken(String refreshToken) {
-        this.refreshToken = refreshToken;
-    }
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RefreshResponse(String accessToken, String refreshToken) {
 }
@@ -0,0 +1,223 @@
+package auth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import config.Json;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caches tokens per username and refreshes them via /auth/refresh shortly before the JWT "exp".
+// Concurrent callers for the same user share one in-flight login/refresh (single-flight).
+public class TokenManager implements AutoCloseable {
+
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofSeconds(30);
+
+    private final AuthClient client;
+    private final Duration refreshAhead;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Tokens> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Tokens>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> scheduledRefreshes = new ConcurrentHashMap<>();
+
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public TokenManager(AuthClient client) {
+        this(client, DEFAULT_REFRESH_AHEAD);
+    }
+
+    public TokenManager(AuthClient client, Duration refreshAhead) {
+        this.client = client;
+        this.refreshAhead = refreshAhead;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "token-refresher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // cached token while it is valid for longer than refreshAhead, otherwise refresh (or log in again)
+    public String accessToken(LoginRequest credentials) {
+        return tokens(credentials).accessToken();
+    }
+
+    public Tokens tokens(LoginRequest credentials) {
+        Tokens current = tokens.get(credentials.username());
+        if (current != null && !current.refreshDue()) {
+            return current;
+        }
+        return singleFlight(credentials, current);
+    }
+
+    // refresh now, even if the cached token is still fresh (callers that need a brand-new token)
+    public Tokens refresh(LoginRequest credentials) {
+        return singleFlight(credentials, tokens.get(credentials.username()));
+    }
+
+    public User me(LoginRequest credentials) {
+        return client.me(accessToken(credentials));
+    }
+
+    public void invalidate(String username) {
+        tokens.remove(username);
+        ScheduledFuture<?> scheduled = scheduledRefreshes.remove(username);
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+    }
+
+    public long loginCount() {
+        return logins.get();
+    }
+
+    public long refreshCount() {
+        return refreshes.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // ===== internals =====
+
+    private Tokens singleFlight(LoginRequest credentials, Tokens stale) {
+        String username = credentials.username();
+        CompletableFuture<Tokens> mine = new CompletableFuture<>();
+        CompletableFuture<Tokens> running = inFlight.putIfAbsent(username, mine);
+        if (running != null) {
+            return join(running);
+        }
+        try {
+            // another caller may have finished while we were racing for the slot
+            Tokens current = tokens.get(username);
+            if (current != null && current != stale && !current.refreshDue()) {
+                mine.complete(current);
+                return current;
+            }
+            Tokens fresh = fetch(credentials, current);
+            tokens.put(username, fresh);
+            scheduleRefresh(credentials, fresh);
+            mine.complete(fresh);
+            return fresh;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(username, mine);
+        }
+    }
+
+    private Tokens fetch(LoginRequest credentials, Tokens current) {
+        if (current != null && current.refreshToken() != null && current.refreshExpiresAt().isAfter(Instant.now())) {
+            try {
+                RefreshResponse refreshed = client.refresh(new RefreshRequest(current.refreshToken()));
+                if (refreshed.accessToken() != null) {
+                    refreshes.incrementAndGet();
+                    return Tokens.of(current.login(), refreshed.accessToken(), refreshed.refreshToken(),
+                            refreshAhead, lifetimeOf(credentials));
+                }
+            } catch (RuntimeException e) {
+                // refresh token rejected or unreadable response: fall back to a fresh login
+            }
+        }
+        LoginResponse login = client.login(credentials);
+        if (login.accessToken() == null) {
+            throw new IllegalStateException("Login failed for user '" + credentials.username() + "'");
+        }
+        logins.incrementAndGet();
+        return Tokens.of(login, login.accessToken(), login.refreshToken(), refreshAhead, lifetimeOf(credentials));
+    }
+
+    private void scheduleRefresh(LoginRequest credentials, Tokens fresh) {
+        long delay = Duration.between(Instant.now(), fresh.refreshAt()).toMillis();
+        if (delay <= 0) {
+            return;   // already due (server handed out an expired token): leave it to the next caller
+        }
+        if (scheduler.isShutdown()) {
+            return;   // closed: tokens are still handed out, callers refresh them on demand
+        }
+        ScheduledFuture<?> next;
+        try {
+            next = scheduler.schedule(() -> {
+                try {
+                    singleFlight(credentials, fresh);
+                } catch (RuntimeException e) {
+                    // the next caller will retry synchronously
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return;   // closed between the check and here
+        }
+
+        ScheduledFuture<?> previous = scheduledRefreshes.put(credentials.username(), next);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private static Tokens join(CompletableFuture<Tokens> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+
+    // what the server was asked for; only used when a token carries no readable "exp"
+    private static Duration lifetimeOf(LoginRequest credentials) {
+        return Duration.ofMinutes(credentials.expiresInMins() > 0 ? credentials.expiresInMins() : 60);
+    }
+
+    // reads the "exp" claim (seconds since epoch) without verifying the signature; null when absent
+    static Instant expiresAt(String jwt) {
+        String[] parts = jwt == null ? new String[0] : jwt.split("\\.");
+        if (parts.length < 2) {
+            return null;
+        }
+        try {
+            JsonNode exp = Json.mapper().readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+            return exp != null && exp.canConvertToLong() ? Instant.ofEpochSecond(exp.asLong()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public record Tokens(LoginResponse login, String accessToken, String refreshToken,
+                         Instant expiresAt, Instant refreshExpiresAt, Instant refreshAt) {
+
+        // refresh refreshAhead before expiry, but not before half of a short-lived token's lifetime
+        // has passed (otherwise a token shorter than refreshAhead would be refreshed on every call)
+        static Tokens of(LoginResponse login, String accessToken, String refreshToken,
+                         Duration refreshAhead, Duration fallbackLifetime) {
+            Instant now = Instant.now();
+            Instant expiresAt = orElse(TokenManager.expiresAt(accessToken), now.plus(fallbackLifetime));
+            Instant refreshExpiresAt = orElse(TokenManager.expiresAt(refreshToken), expiresAt);
+            Duration lifetime = Duration.between(now, expiresAt);
+            Duration half = lifetime.isNegative() ? Duration.ZERO : lifetime.dividedBy(2);
+            Duration margin = refreshAhead.compareTo(half) < 0 ? refreshAhead : half;
+            return new Tokens(login, accessToken, refreshToken, expiresAt, refreshExpiresAt, expiresAt.minus(margin));
+        }
+
+        private static Instant orElse(Instant value, Instant fallback) {
+            return value != null ? value : fallback;
+        }
+
+        boolean refreshDue() {
+            return !Instant.now().isBefore(refreshAt);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package cache;
+
+public record CacheStats(long hits, long misses, long revalidations, long evictions, int size) {
+
+    public double hitRatio() {
+        long lookups = hits + misses + revalidations;
+        return lookups == 0 ? 0 : (double) (hits + revalidations) / lookups;
+    }
+}
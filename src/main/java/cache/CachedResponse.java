@@ -0,0 +1,14 @@
+package cache;
+
+// Raw response body as it came off the wire, plus what is needed to revalidate it.
+// Bodies are stored as bytes (not POJOs); ReadThroughCache hands callers a copy, never the stored array.
+public record CachedResponse(byte[] body, String etag, long storedAtMillis, long expiresAtMillis) {
+
+    public boolean isFresh(long nowMillis) {
+        return nowMillis < expiresAtMillis;
+    }
+
+    public CachedResponse renewed(long nowMillis, long ttlMillis) {
+        return new CachedResponse(body, etag, nowMillis, nowMillis + ttlMillis);
+    }
+}
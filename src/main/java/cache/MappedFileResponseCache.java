@@ -0,0 +1,329 @@
+package cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Store that outlives the JVM: entries are appended to a memory-mapped file, so the next test run
+// (or a parallel surefire fork) starts warm instead of refetching everything.
+//
+// File layout: a 64-byte header (magic, version, generation, write position) followed by
+// length-prefixed records [length][type][storedAt][expiresAt][key][etag][body]. Invalidation appends a
+// tombstone; each process keeps an in-memory key -> offset index and catches up with records other
+// processes appended by scanning from where it stopped. Appends take an exclusive FileLock.
+// When the file is full it is cleared (generation + 1) and every live entry counts as evicted.
+// Reads take no lock: a reader re-checks the generation after copying a record, and a record
+// overwritten by another process in between is treated as a miss.
+//
+// Expired entries are kept (ReadThroughCache revalidates them by ETag) until the next clear.
+public class MappedFileResponseCache implements ResponseCache, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 64 * 1024 * 1024;
+
+    private static final int MAGIC = 0x52455350;   // "RESP"
+    private static final int VERSION = 1;
+    private static final int GENERATION = 8;
+    private static final int WRITE_POSITION = 16;
+    private static final int HEADER_SIZE = 64;
+
+    private static final byte ENTRY = 1;
+    private static final byte TOMBSTONE = 2;
+    // length, type, storedAt, expiresAt, key length, etag length, body length
+    private static final int RECORD_OVERHEAD = 4 + 1 + 8 + 8 + 2 + 2 + 4;
+
+    // a FileLock belongs to the whole JVM, so one instance per file and JVM
+    private static final Map<Path, MappedFileResponseCache> OPEN = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private final Map<String, Integer> index = new HashMap<>();   // key -> record offset
+    private long generation;
+    private int scanned = HEADER_SIZE;                             // end of the records already indexed
+    private final LongAdder evictions = new LongAdder();
+    private boolean closed;
+
+    public static MappedFileResponseCache open(Path file) {
+        return open(file, DEFAULT_CAPACITY);
+    }
+
+    // capacity only applies when the file is created; an existing file keeps its size
+    public static MappedFileResponseCache open(Path file, int capacity) {
+        Path key = file.toAbsolutePath().normalize();
+        return OPEN.computeIfAbsent(key, path -> new MappedFileResponseCache(path, capacity));
+    }
+
+    private MappedFileResponseCache(Path file, int capacity) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try (FileLock lock = channel.lock()) {
+                if (channel.size() < HEADER_SIZE) {
+                    channel.truncate(0);
+                    channel.write(ByteBuffer.allocate(1), Math.max(capacity, HEADER_SIZE * 2) - 1L);
+                }
+                this.capacity = (int) Math.min(Integer.MAX_VALUE, channel.size());
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.capacity);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(4, VERSION);
+                    buffer.putLong(GENERATION, 0);
+                    buffer.putLong(WRITE_POSITION, HEADER_SIZE);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open response cache " + file, e);
+        }
+        this.generation = buffer.getLong(GENERATION);
+    }
+
+    @Override
+    public synchronized CachedResponse get(String key) {
+        checkOpen();
+        catchUp();
+        Integer offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        CachedResponse response;
+        try {
+            response = readEntry(offset);
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            response = null;
+        }
+        // cleared by another process while we were copying: whatever we read may be torn
+        return buffer.getLong(GENERATION) == generation ? response : null;
+    }
+
+    @Override
+    public synchronized void put(String key, CachedResponse response) {
+        append(ENTRY, key, response);
+    }
+
+    @Override
+    public synchronized void invalidate(String key) {
+        checkOpen();
+        catchUp();
+        if (index.containsKey(key)) {
+            append(TOMBSTONE, key, null);
+        }
+    }
+
+    @Override
+    public synchronized void invalidatePrefix(String prefix) {
+        checkOpen();
+        catchUp();
+        List<String> keys = new ArrayList<>();
+        for (String key : index.keySet()) {
+            if (key.startsWith(prefix)) {
+                keys.add(key);
+            }
+        }
+        keys.forEach(key -> append(TOMBSTONE, key, null));
+    }
+
+    @Override
+    public synchronized int size() {
+        checkOpen();
+        catchUp();
+        return index.size();
+    }
+
+    @Override
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    // drops every entry, for this and every other process using the file
+    public synchronized void clear() {
+        checkOpen();
+        try (FileLock lock = channel.lock()) {
+            catchUp();
+            reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clear response cache " + file, e);
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        OPEN.remove(file, this);
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close response cache " + file, e);
+        }
+    }
+
+    // ===== internals =====
+
+    private void append(byte type, String key, CachedResponse response) {
+        checkOpen();
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] etag = response == null || response.etag() == null ? null : response.etag().getBytes(StandardCharsets.UTF_8);
+        byte[] body = response == null ? new byte[0] : response.body();
+        int length = RECORD_OVERHEAD + keyBytes.length + (etag == null ? 0 : etag.length) + body.length;
+        if (length > capacity - HEADER_SIZE || keyBytes.length > Short.MAX_VALUE
+                || (etag != null && etag.length > Short.MAX_VALUE)) {
+            return;   // would never fit (or its length prefix would overflow): simply not cached
+        }
+
+        try (FileLock lock = channel.lock()) {
+            catchUp();
+            int position = (int) buffer.getLong(WRITE_POSITION);
+            if (position + length > capacity) {
+                reset();
+                position = HEADER_SIZE;
+            }
+            int at = position;
+            buffer.putInt(at, length);
+            buffer.put(at + 4, type);
+            buffer.putLong(at + 5, response == null ? 0 : response.storedAtMillis());
+            buffer.putLong(at + 13, response == null ? 0 : response.expiresAtMillis());
+            at += 21;
+            at = putBytes(at, keyBytes, true);
+            at = putBytes(at, etag, true);
+            putBytes(at, body, false);
+            // the record is complete before it becomes visible to readers
+            buffer.putLong(WRITE_POSITION, position + length);
+
+            index(type, key, position);
+            scanned = position + length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write to response cache " + file, e);
+        }
+    }
+
+    // empties the file; caller holds the FileLock
+    private void reset() {
+        evictions.add(index.size());
+        index.clear();
+        generation = buffer.getLong(GENERATION) + 1;
+        buffer.putLong(GENERATION, generation);
+        buffer.putLong(WRITE_POSITION, HEADER_SIZE);
+        scanned = HEADER_SIZE;
+    }
+
+    // indexes records appended (by any process) since the last call
+    private void catchUp() {
+        long currentGeneration = buffer.getLong(GENERATION);
+        if (currentGeneration != generation) {
+            evictions.add(index.size());
+            index.clear();
+            scanned = HEADER_SIZE;
+            generation = currentGeneration;
+        }
+        int end = (int) Math.min(capacity, buffer.getLong(WRITE_POSITION));
+        int position = scanned;
+        while (position + RECORD_OVERHEAD <= end) {
+            int length = buffer.getInt(position);
+            if (length < RECORD_OVERHEAD || position + length > end) {
+                break;   // torn by a concurrent clear: the generation check on the next call starts over
+            }
+            int keyLength = buffer.getShort(position + 21);
+            if (keyLength < 0 || position + 23 + keyLength > end) {
+                break;
+            }
+            byte[] key = new byte[keyLength];
+            buffer.get(position + 23, key);
+            index(buffer.get(position + 4), new String(key, StandardCharsets.UTF_8), position);
+            position += length;
+        }
+        scanned = position;
+    }
+
+    private void index(byte type, String key, int offset) {
+        if (type == TOMBSTONE) {
+            index.remove(key);
+        } else {
+            index.put(key, offset);
+        }
+    }
+
+    // null when the record was torn by a concurrent clear: every length read without the lock is checked
+    // against the record's own length before anything is allocated from it
+    private CachedResponse readEntry(int offset) {
+        int length = buffer.getInt(offset);
+        if (length < RECORD_OVERHEAD || length > capacity - offset) {
+            return null;
+        }
+        int end = offset + length;
+        long storedAt = buffer.getLong(offset + 5);
+        long expiresAt = buffer.getLong(offset + 13);
+        int at = offset + 21;
+        short keyLength = buffer.getShort(at);
+        if (keyLength < 0 || at + 2 + keyLength > end) {
+            return null;
+        }
+        at += 2 + keyLength;
+        short etagLength = buffer.getShort(at);
+        String etag = null;
+        if (etagLength >= 0) {
+            if (at + 2 + etagLength > end) {
+                return null;
+            }
+            byte[] bytes = new byte[etagLength];
+            buffer.get(at + 2, bytes);
+            etag = new String(bytes, StandardCharsets.UTF_8);
+            at += etagLength;
+        }
+        at += 2;
+        int bodyLength = buffer.getInt(at);
+        if (bodyLength < 0 || bodyLength != end - at - 4) {
+            return null;
+        }
+        byte[] body = new byte[bodyLength];
+        buffer.get(at + 4, body);   // a single copy straight out of the page cache
+        return new CachedResponse(body, etag, storedAt, expiresAt);
+    }
+
+    // short length prefix (-1 = null) for key and etag, int for the body
+    private int putBytes(int at, byte[] bytes, boolean shortLength) {
+        if (shortLength) {
+            buffer.putShort(at, (short) (bytes == null ? -1 : bytes.length));
+            at += 2;
+        } else {
+            buffer.putInt(at, bytes.length);
+            at += 4;
+        }
+        if (bytes != null) {
+            buffer.put(at, bytes);
+            at += bytes.length;
+        }
+        return at;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Response cache " + file + " is closed");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package cache;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Read-through cache for GET responses, keyed by endpoint + parameters.
+// Fresh entries are served locally; stale entries with an ETag are revalidated with If-None-Match
+// (a 304 renews the entry without a body), everything else goes to the network.
+// Every invalidation bumps a generation; a fetch only stores its answer if no invalidation ran while it was
+// on the network, so a read that raced a write never puts the pre-write body back.
+public class ReadThroughCache {
+
+    private final ResponseCache store;
+    private final Duration defaultTtl;
+    private final Map<String, Duration> ttlByEndpoint;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+
+    // guarded by this for writes, so "still the same generation?" and the store.put that follows are atomic
+    private volatile long generation;
+
+    public ReadThroughCache(ResponseCache store, Duration defaultTtl) {
+        this(store, defaultTtl, Map.of());
+    }
+
+    // ttlByEndpoint is keyed by endpoint template, e.g. "/products/{id}"
+    public ReadThroughCache(ResponseCache store, Duration defaultTtl, Map<String, Duration> ttlByEndpoint) {
+        this.store = store;
+        this.defaultTtl = defaultTtl;
+        this.ttlByEndpoint = new HashMap<>(ttlByEndpoint);
+    }
+
+    // every Result gets its own copy of the body: the cached array is shared by all later hits
+    public record Result(int statusCode, byte[] body) {
+        public Result {
+            body = body.clone();
+        }
+    }
+
+    // fetch receives the ETag to send as If-None-Match (or null) and performs the request
+    public Result get(String endpoint, String key, Function<String, Response> fetch) {
+        long now = System.currentTimeMillis();
+        CachedResponse cached = store.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            hits.increment();
+            return new Result(200, cached.body());
+        }
+
+        String etag = cached == null ? null : cached.etag();
+        long fetchedIn = generation;
+        Response response = fetch.apply(etag);
+        long ttl = ttlFor(endpoint).toMillis();
+
+        if (etag != null && response.statusCode() == 304) {
+            revalidations.increment();
+            putUnlessInvalidated(key, cached.renewed(now, ttl), fetchedIn);
+            return new Result(200, cached.body());
+        }
+
+        misses.increment();
+        byte[] body = response.asByteArray();
+        String newEtag = response.getHeader("ETag");
+        // with ttl 0 an entry is never served unasked, but its ETag still saves the body on revalidation
+        if (response.statusCode() == 200 && (ttl > 0 || newEtag != null)) {
+            putUnlessInvalidated(key, new CachedResponse(body, newEtag, now, now + ttl), fetchedIn);
+        } else if (cached != null) {
+            store.invalidate(key);
+        }
+        return new Result(response.statusCode(), body);
+    }
+
+    public synchronized void invalidate(String key) {
+        generation++;
+        store.invalidate(key);
+    }
+
+    public synchronized void invalidatePrefix(String prefix) {
+        generation++;
+        store.invalidatePrefix(prefix);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), revalidations.sum(), store.evictions(), store.size());
+    }
+
+    // any invalidation counts, not just one of this key: at worst a fetch is not cached
+    private synchronized void putUnlessInvalidated(String key, CachedResponse response, long fetchedIn) {
+        if (generation == fetchedIn) {
+            store.put(key, response);
+        }
+    }
+
+    private Duration ttlFor(String endpoint) {
+        return ttlByEndpoint.getOrDefault(endpoint, defaultTtl);
+    }
+}
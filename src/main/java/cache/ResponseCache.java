@@ -0,0 +1,18 @@
+package cache;
+
+// Storage behind ReadThroughCache. Implementations must be thread-safe.
+public interface ResponseCache {
+
+    CachedResponse get(String key);
+
+    void put(String key, CachedResponse response);
+
+    void invalidate(String key);
+
+    // drops every key starting with prefix, e.g. "/products/search"
+    void invalidatePrefix(String prefix);
+
+    int size();
+
+    long evictions();
+}
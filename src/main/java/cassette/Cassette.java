@@ -0,0 +1,141 @@
+package cassette;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.Json;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Recorded request/response pairs, kept in memory and stored as JSON Lines (one interaction per line).
+// Interactions are matched by key: method, path template, path and query parameters (sorted), a hash of
+// the Authorization and If-None-Match headers and a hash of the request body, so passwords and tokens
+// never end up in the file.
+// A key recorded several times (e.g. two logins returning different tokens) replays in recorded order;
+// after the last recording the last one repeats.
+public class Cassette {
+
+    public record Interaction(String key, int status, Map<String, String> headers, String body) {
+    }
+
+    private static final ObjectReader READER = Json.reader(Interaction.class);
+    private static final ObjectWriter WRITER = Json.writer(Interaction.class);
+    private static final ObjectWriter CANONICAL = Json.mapper().writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final Map<String, List<Interaction>> byKey = new LinkedHashMap<>();
+    private final Map<String, Integer> replayed = new HashMap<>();
+
+    public static Cassette load(Path file) {
+        Cassette cassette = new Cassette();
+        if (!Files.exists(file)) {
+            return cassette;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    cassette.record(READER.readValue(line));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read cassette " + file, e);
+        }
+        return cassette;
+    }
+
+    public synchronized void save(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                for (List<Interaction> interactions : byKey.values()) {
+                    for (Interaction interaction : interactions) {
+                        writer.write(WRITER.writeValueAsString(interaction));
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write cassette " + file, e);
+        }
+    }
+
+    public synchronized void record(Interaction interaction) {
+        byKey.computeIfAbsent(interaction.key(), k -> new ArrayList<>()).add(interaction);
+    }
+
+    // next recorded answer for key, or null when key was never recorded
+    public synchronized Interaction next(String key) {
+        List<Interaction> interactions = byKey.get(key);
+        if (interactions == null) {
+            return null;
+        }
+        int index = replayed.merge(key, 1, Integer::sum) - 1;
+        return interactions.get(Math.min(index, interactions.size() - 1));
+    }
+
+    public synchronized int size() {
+        return byKey.values().stream().mapToInt(List::size).sum();
+    }
+
+    // request headers that change the answer: /auth/me with another token, a 304 instead of a 200
+    public static final List<String> MATCHED_HEADERS = List.of("Authorization", "If-None-Match");
+
+    public static String key(String method, String template, Map<String, ?> pathParams,
+                             Map<String, ?> queryParams, byte[] body) {
+        return key(method, template, pathParams, queryParams, Map.of(), body);
+    }
+
+    // e.g. "GET /products/{id} id=1 select=title,price", "POST /auth/login #3f1c..." or
+    // "GET /auth/me Authorization#9a0b..."; headers holds the MATCHED_HEADERS the request sent
+    public static String key(String method, String template, Map<String, ?> pathParams,
+                             Map<String, ?> queryParams, Map<String, String> headers, byte[] body) {
+        StringBuilder key = new StringBuilder(method).append(' ').append(template);
+        new TreeMap<>(pathParams).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        new TreeMap<>(queryParams).forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        for (String name : MATCHED_HEADERS) {
+            String value = headers.get(name);
+            if (value != null) {
+                key.append(' ').append(name).append('#').append(sha256(value.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        if (body != null && body.length > 0) {
+            key.append(" #").append(sha256(canonical(body)));
+        }
+        return key.toString();
+    }
+
+    // JSON bodies are hashed with sorted keys: a Map.of(...) body serializes in a different order every run
+    private static byte[] canonical(byte[] body) {
+        try {
+            return CANONICAL.writeValueAsBytes(Json.mapper().readValue(body, Object.class));
+        } catch (IOException e) {
+            return body;   // not JSON: hash as sent
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            // 64 bits of the digest are plenty to tell request bodies apart
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
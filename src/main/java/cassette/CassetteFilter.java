@@ -0,0 +1,102 @@
+package cassette;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Records or replays every request of a client spec. Sits closest to the wire (after MetricsFilter),
+// so replayed calls still show up in the client metrics, with the latency of a lookup.
+public class CassetteFilter implements OrderedFilter {
+
+    // all the clients and tests look at; Date, connection and server headers would only add noise
+    private static final List<String> RECORDED_HEADERS = List.of("Content-Type", "ETag", "Retry-After");
+
+    private final Cassette cassette;
+    private final CassetteMode mode;
+
+    public CassetteFilter(Cassette cassette, CassetteMode mode) {
+        this.cassette = cassette;
+        this.mode = mode;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (mode == CassetteMode.OFF) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        Map<String, String> matched = new LinkedHashMap<>();
+        for (String name : Cassette.MATCHED_HEADERS) {
+            String value = requestSpec.getHeaders().getValue(name);
+            if (value != null) {
+                matched.put(name, value);
+            }
+        }
+        String key = Cassette.key(requestSpec.getMethod(), requestSpec.getUserDefinedPath(),
+                requestSpec.getPathParams(), requestSpec.getQueryParams(), matched, bodyBytes(requestSpec.getBody()));
+
+        if (mode == CassetteMode.RECORD) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            Map<String, String> headers = new LinkedHashMap<>();
+            for (String name : RECORDED_HEADERS) {
+                String value = response.getHeader(name);
+                if (value != null) {
+                    headers.put(name, value);
+                }
+            }
+            cassette.record(new Cassette.Interaction(key, response.getStatusCode(), headers,
+                    new String(response.asByteArray(), StandardCharsets.UTF_8)));
+            return response;
+        }
+
+        Cassette.Interaction recorded = cassette.next(key);
+        if (recorded == null) {
+            if (mode == CassetteMode.STRICT) {
+                throw new UnrecordedInteractionException(key);
+            }
+            return ctx.next(requestSpec, responseSpec);
+        }
+        return replay(recorded);
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    private static Response replay(Cassette.Interaction recorded) {
+        List<Header> headers = new ArrayList<>();
+        recorded.headers().forEach((name, value) -> headers.add(new Header(name, value)));
+        ResponseBuilder response = new ResponseBuilder()
+                .setStatusCode(recorded.status())
+                .setHeaders(new Headers(headers))
+                .setBody(recorded.body().getBytes(StandardCharsets.UTF_8));
+        String contentType = recorded.headers().get("Content-Type");
+        if (contentType != null) {
+            response.setContentType(contentType);
+        }
+        return response.build();
+    }
+
+    private static byte[] bodyBytes(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
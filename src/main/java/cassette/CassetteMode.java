@@ -0,0 +1,18 @@
+package cassette;
+
+import java.util.Locale;
+
+// -Dapi.cassette=off (default) | record | replay | strict
+public enum CassetteMode {
+    OFF,
+    // every call goes to the network and is written to the cassette when the JVM exits
+    RECORD,
+    // recorded calls are answered from the cassette, anything else goes to the network
+    REPLAY,
+    // recorded calls are answered from the cassette, anything else fails with UnrecordedInteractionException
+    STRICT;
+
+    public static CassetteMode parse(String value) {
+        return value == null || value.isBlank() ? OFF : valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,42 @@
+package cassette;
+
+import java.nio.file.Path;
+
+// The cassette every ApiConfig spec uses, from system properties:
+//   -Dapi.cassette=off | record | replay | strict
+//   -Dapi.cassette.file=src/test/resources/cassettes/dummyjson.jsonl
+// In RECORD mode the file is (over)written when the JVM exits.
+public final class Cassettes {
+
+    public static final String MODE_PROPERTY = "api.cassette";
+    public static final String FILE_PROPERTY = "api.cassette.file";
+    public static final String DEFAULT_FILE = "src/test/resources/cassettes/dummyjson.jsonl";
+
+    private static final CassetteMode MODE = CassetteMode.parse(System.getProperty(MODE_PROPERTY));
+    private static final Path FILE = Path.of(System.getProperty(FILE_PROPERTY, DEFAULT_FILE));
+    private static final Cassette CASSETTE = create();
+    private static final CassetteFilter FILTER = new CassetteFilter(CASSETTE, MODE);
+
+    private Cassettes() {}
+
+    public static CassetteMode mode() {
+        return MODE;
+    }
+
+    public static Cassette cassette() {
+        return CASSETTE;
+    }
+
+    public static CassetteFilter filter() {
+        return FILTER;
+    }
+
+    private static Cassette create() {
+        if (MODE == CassetteMode.RECORD) {
+            Cassette cassette = new Cassette();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> cassette.save(FILE), "api-cassette-save"));
+            return cassette;
+        }
+        return MODE == CassetteMode.OFF ? new Cassette() : Cassette.load(FILE);
+    }
+}
@@ -0,0 +1,9 @@
+package cassette;
+
+// thrown in STRICT mode for a request that is not on the cassette
+public class UnrecordedInteractionException extends RuntimeException {
+
+    public UnrecordedInteractionException(String key) {
+        super("No recorded interaction for " + key + " (re-record with -Dapi.cassette=record)");
+    }
+}
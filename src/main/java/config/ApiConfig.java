@@ -1,11 +1,129 @@
 package config;
 
+import cassette.CassetteMode;
+import cassette.Cassettes;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import metrics.ApiMetrics;
+import ratelimit.RateLimiters;
+import resilience.Resilience;
+import stub.DummyJsonStub;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
 
 public class ApiConfig {
     public static final String DUMMY_URL = "https://dummyjson.com";
 
-    public static void apply() {
-        RestAssured.baseURI = DUMMY_URL;
+    // -Dapi.target=live (default) | stub ; -Dapi.baseUri=... wins over both
+    public static final String TARGET_PROPERTY = "api.target";
+    public static final String BASE_URI_PROPERTY = "api.baseUri";
+    // -Dapi.http2=true: the async clients negotiate HTTP/2 (ALPN over TLS, h2c upgrade over plain HTTP)
+    public static final String HTTP2_PROPERTY = "api.http2";
+
+    // built once per JVM: one connection pool shared by AuthClient and ProductsClient
+    private static final TransportConfig TRANSPORT = TransportConfig.fromSystemProperties();
+    private static final PooledHttpClientFactory HTTP_CLIENT_FACTORY = new PooledHttpClientFactory(TRANSPORT);
+    private static final RestAssuredConfig REST_ASSURED_CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig()
+                    .httpClientFactory(HTTP_CLIENT_FACTORY)
+                    .reuseHttpClientInstance())
+            .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                    .defaultObjectMapper(new JsonObjectMapper())
+                    .jackson2ObjectMapperFactory((type, charset) -> Json.mapper()));
+    // virtual threads when -Dapi.virtualThreads=true on Java 21+, see ClientExecutors
+    private static final ExecutorService EXECUTOR = ClientExecutors.newExecutor("api-client");
+    // retry / hedge / circuit breaker defaults for AuthClient and ProductsClient, see Resilience
+    private static final Resilience RESILIENCE = Resilience.fromSystemProperties(ApiMetrics.global(), EXECUTOR);
+    // non-blocking client behind AuthAsyncClient / ProductsAsyncClient
+    private static final HttpClient ASYNC_HTTP_CLIENT = newAsyncHttpClient(
+            Boolean.getBoolean(HTTP2_PROPERTY) ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+
+    // Immutable, prebuilt spec for one backend. Clients keep it and start every request from it,
+    // so they never read the RestAssured globals and several backends can be used side by side.
+    public static RequestSpecification requestSpec() {
+        return requestSpec(baseUri());
+    }
+
+    public static RequestSpecification requestSpec(String baseUri) {
+        return requestSpecBuilder(baseUri).build();
+    }
+
+    // for callers that want to add their own headers / filters before building;
+    // every spec is paced by the backend's RequestGovernor and records per-endpoint metrics into ApiMetrics.global();
+    // with -Dapi.cassette=record|replay|strict calls are also recorded to / replayed from the cassette
+    public static RequestSpecBuilder requestSpecBuilder(String baseUri) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(REST_ASSURED_CONFIG)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addFilter(RateLimiters.filter())
+                .addFilter(ApiMetrics.global().filter());
+        if (Cassettes.mode() != CassetteMode.OFF) {
+            builder.addFilter(Cassettes.filter());
+        }
+        return builder;
+    }
+
+    // kept for code that still uses RestAssured.given() directly;
+    // test classes call this from @BeforeAll, possibly concurrently: only ever write the same values once
+    public static synchronized void apply() {
+        String baseUri = baseUri();
+        if (!baseUri.equals(RestAssured.baseURI)) {
+            RestAssured.baseURI = baseUri;
+        }
+        if (RestAssured.config != REST_ASSURED_CONFIG) {
+            RestAssured.config = REST_ASSURED_CONFIG;
+        }
+    }
+
+    public static String baseUri() {
+        String explicit = System.getProperty(BASE_URI_PROPERTY);
+        if (explicit != null && !explicit.isBlank()) {
+            return explicit;
+        }
+        return isStub() ? DummyJsonStub.shared().baseUri() : DUMMY_URL;
+    }
+
+    public static boolean isStub() {
+        return "stub".equalsIgnoreCase(System.getProperty(TARGET_PROPERTY, "live"));
+    }
+
+    public static TransportConfig transport() {
+        return TRANSPORT;
+    }
+
+    public static RestAssuredConfig restAssuredConfig() {
+        return REST_ASSURED_CONFIG;
+    }
+
+    // shared executor for fanning out (blocking) client calls
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    public static Resilience resilience() {
+        return RESILIENCE;
+    }
+
+    public static AsyncTransport asyncTransport() {
+        return new AsyncTransport(ASYNC_HTTP_CLIENT, baseUri(), TRANSPORT.readTimeout());
+    }
+
+    // HTTP/1.1 opens one connection per concurrent request; HTTP/2 multiplexes them as streams over one
+    // connection per host and HPACK-indexes repeated headers (Authorization: Bearer ... is sent once in full).
+    // A server without HTTP/2 simply answers in HTTP/1.1.
+    public static HttpClient newAsyncHttpClient(HttpClient.Version version) {
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(TRANSPORT.connectTimeout())
+                .executor(EXECUTOR)
+                .build();
     }
 }
@@ -0,0 +1,176 @@
+package config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.net.ssl.SSLSession;
+
+// Non-blocking HTTP for the *AsyncClient classes: java.net.http.HttpClient is NIO based,
+// so thousands of requests can be in flight without a thread parked on each one.
+// Every request accepts gzip/deflate. Bodies arrive in full before they are decoded (see Compression);
+// only openStream hands over the network stream itself.
+public class AsyncTransport {
+
+    private final HttpClient httpClient;
+    private final String baseUri;
+    private final Duration readTimeout;
+
+    public AsyncTransport(HttpClient httpClient, String baseUri, Duration readTimeout) {
+        this.httpClient = httpClient;
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.readTimeout = readTimeout;
+    }
+
+    public String baseUri() {
+        return baseUri;
+    }
+
+    public HttpClient httpClient() {
+        return httpClient;
+    }
+
+    public CompletableFuture<HttpResponse<byte[]>> send(String method, String path, Map<String, ?> query,
+                                                        Map<String, String> headers, Object body) {
+        return sendEncoded(method, path, query, headers, body, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            try (InputStream decoded = decode(response.body(), response)) {
+                return new DecodedResponse<>(response, decoded.readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(method + " " + path + " returned a corrupt body", e);
+            }
+        });
+    }
+
+    // same behaviour as RestAssured's .as(...): the body is mapped whatever the status code.
+    // The body as sent (compressed or not) is collected without blocking a thread, then inflated straight
+    // into the parser, so the decoded body is never held as a byte[]. Parsing incrementally while the body
+    // arrives would need Jackson's non-blocking parser; these responses are small enough not to bother.
+    public <T> CompletableFuture<T> send(String method, String path, Map<String, ?> query,
+                                         Map<String, String> headers, Object body, Class<T> type) {
+        return sendEncoded(method, path, query, headers, body, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            try (InputStream decoded = decode(response.body(), response)) {
+                return Json.read(decoded, type);
+            } catch (IOException e) {
+                throw new UncheckedIOException(method + " " + path + " returned a corrupt body", e);
+            }
+        });
+    }
+
+    // blocking GET whose body is handed over unread, for callers that parse it as a stream
+    public HttpResponse<InputStream> openStream(String path, Map<String, ?> query) {
+        HttpRequest request = HttpRequest.newBuilder(uri(path, query))
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", Compression.ACCEPT_ENCODING)
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            return new DecodedResponse<>(response, decode(response.body(), response));
+        } catch (IOException e) {
+            throw new UncheckedIOException("GET " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during GET " + path, e);
+        }
+    }
+
+    // the body as sent by the server, possibly compressed
+    private <B> CompletableFuture<HttpResponse<B>> sendEncoded(String method, String path, Map<String, ?> query,
+                                                               Map<String, String> headers, Object body,
+                                                               HttpResponse.BodyHandler<B> bodyHandler) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path, query))
+                .timeout(readTimeout)
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", Compression.ACCEPT_ENCODING);
+        headers.forEach(request::header);
+
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            byte[] json = Json.requestBody(body);
+            request.header("Content-Type", "application/json");
+            if (Compression.compressRequest(json)) {
+                json = Compression.gzip(json);
+                request.header("Content-Encoding", "gzip");
+            }
+            request.method(method, HttpRequest.BodyPublishers.ofByteArray(json));
+        }
+        return httpClient.sendAsync(request.build(), bodyHandler);
+    }
+
+    private static InputStream decode(byte[] body, HttpResponse<?> response) throws IOException {
+        return decode(new ByteArrayInputStream(body), response);
+    }
+
+    private static InputStream decode(InputStream body, HttpResponse<?> response) throws IOException {
+        return Compression.decode(body, response.headers().firstValue("Content-Encoding").orElse(null));
+    }
+
+    public static String pathSegment(Object value) {
+        return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private URI uri(String path, Map<String, ?> query) {
+        StringBuilder uri = new StringBuilder(baseUri).append(path);
+        char separator = '?';
+        for (Map.Entry<String, ?> param : query.entrySet()) {
+            uri.append(separator)
+                    .append(URLEncoder.encode(param.getKey(), StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(String.valueOf(param.getValue()), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return URI.create(uri.toString());
+    }
+
+    // the server's response with its body replaced by the decoded one
+    private record DecodedResponse<T>(HttpResponse<?> raw, T body) implements HttpResponse<T> {
+
+        @Override
+        public int statusCode() {
+            return raw.statusCode();
+        }
+
+        @Override
+        public HttpRequest request() {
+            return raw.request();
+        }
+
+        @Override
+        public Optional<HttpResponse<T>> previousResponse() {
+            return Optional.empty();
+        }
+
+        @Override
+        public HttpHeaders headers() {
+            return raw.headers();
+        }
+
+        @Override
+        public Optional<SSLSession> sslSession() {
+            return raw.sslSession();
+        }
+
+        @Override
+        public URI uri() {
+            return raw.uri();
+        }
+
+        @Override
+        public HttpClient.Version version() {
+            return raw.version();
+        }
+    }
+}
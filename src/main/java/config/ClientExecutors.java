@@ -0,0 +1,53 @@
+package config;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Executors for client fan-out. With -Dapi.virtualThreads=true on a Java 21+ runtime every task gets
+// its own virtual thread; otherwise a cached pool of daemon platform threads is used.
+// The virtual-thread factory is looked up reflectively so the code still compiles with --release 17.
+public final class ClientExecutors {
+
+    public static final String VIRTUAL_THREADS_PROPERTY = "api.virtualThreads";
+
+    private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookupVirtualExecutor();
+
+    private ClientExecutors() {}
+
+    public static boolean virtualThreadsAvailable() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    public static boolean virtualThreadsEnabled() {
+        return Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && virtualThreadsAvailable();
+    }
+
+    public static ExecutorService newExecutor(String name) {
+        if (virtualThreadsEnabled()) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+            } catch (Throwable e) {
+                throw new IllegalStateException("Could not create virtual thread executor", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private static MethodHandle lookupVirtualExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;   // Java < 21
+        }
+    }
+}
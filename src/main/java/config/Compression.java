@@ -0,0 +1,67 @@
+package config;
+
+import io.restassured.specification.RequestSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Content-Encoding for both transports. Responses: every client asks for gzip/deflate and decodes as a
+// stream (RestAssured does this itself, AsyncTransport through decode). What that stream reads from differs:
+//   - RestAssured clients (ProductsClient, AuthClient): PooledHttpClientFactory buffers every entity, so the
+//     decoded body is held in full and mapped from a byte[] (JsonObjectMapper)
+//   - AsyncTransport.send: the compressed body is collected in full, then inflated straight into the parser
+//   - AsyncTransport.openStream / ProductStreamReader: inflated from the network stream as it is parsed;
+//     the only path that never holds the whole body
+// Requests: add/update bodies of at
+// least -Dapi.compression.requestMinBytes=N bytes are sent gzip-compressed; 0 (default) = never, since a
+// server has to opt in to compressed request bodies.
+public final class Compression {
+
+    public static final String ACCEPT_ENCODING = "gzip, deflate";
+    public static final String REQUEST_MIN_BYTES_PROPERTY = "api.compression.requestMinBytes";
+
+    private static final int REQUEST_MIN_BYTES = Integer.getInteger(REQUEST_MIN_BYTES_PROPERTY, 0);
+
+    private Compression() {}
+
+    // wraps body so it reads decoded bytes; unknown or absent encodings pass through unchanged
+    public static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return body;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, 8192);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        };
+    }
+
+    public static boolean compressRequest(byte[] body) {
+        return REQUEST_MIN_BYTES > 0 && body.length >= REQUEST_MIN_BYTES;
+    }
+
+    // sets body as serialized JSON on a RestAssured request, gzip-compressed when compressRequest says so
+    public static RequestSpecification jsonBody(RequestSpecification request, Object body) {
+        byte[] json = Json.requestBody(body);
+        if (!compressRequest(json)) {
+            return request.body(json);
+        }
+        return request.header("Content-Encoding", "gzip").body(gzip(json));
+    }
+
+    public static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,102 @@
+package config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+// One ObjectMapper for every client, RestAssured included (see ApiConfig).
+// ObjectMapper is thread-safe once configured, so it is never reconfigured after this point.
+// Blackbird replaces reflective accessor/constructor calls with LambdaMetafactory-generated ones.
+//
+// read/write go through an ObjectReader/ObjectWriter built once per type, so a call skips the mapper's
+// per-call type resolution and serializer lookup. Parser/generator buffers come from a bounded shared
+// pool instead of the default thread-local one, which a virtual thread (see ClientExecutors) would
+// never reuse.
+public final class Json {
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder(JsonFactory.builder()
+                    .recyclerPool(JsonRecyclerPools.sharedBoundedPool())
+                    .build())
+            .addModule(new BlackbirdModule())
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            // the models are records and plain beans: no @JsonView, no empty beans to guard against
+            .disable(MapperFeature.DEFAULT_VIEW_INCLUSION)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+
+    private static final ClassValue<ObjectReader> READERS = new ClassValue<>() {
+        @Override
+        protected ObjectReader computeValue(Class<?> type) {
+            return MAPPER.readerFor(type);
+        }
+    };
+
+    private static final ClassValue<ObjectWriter> WRITERS = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            return MAPPER.writerFor(type);
+        }
+    };
+
+    private Json() {}
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.get(type);
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.get(type);
+    }
+
+    public static <T> T read(byte[] body, Class<T> type) {
+        try {
+            return READERS.get(type).readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize response into " + type.getSimpleName(), e);
+        }
+    }
+
+    public static <T> T read(InputStream body, Class<T> type) {
+        try {
+            return READERS.get(type).readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize response into " + type.getSimpleName(), e);
+        }
+    }
+
+    public static byte[] write(Object body) {
+        try {
+            return WRITERS.get(body.getClass()).writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize " + body.getClass().getSimpleName(), e);
+        }
+    }
+
+    // body for RestAssured's .body(...) as UTF-8 JSON bytes: sent as-is, without RestAssured serializing
+    // the object into an intermediate String first. Text and byte[] are taken to be JSON already.
+    public static byte[] requestBody(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return write(body);
+    }
+}
@@ -0,0 +1,35 @@
+package config;
+
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+
+// RestAssured's default object mapper (see ApiConfig): response.as(...) and .body(pojo) go straight to
+// Json's cached per-type reader/writer, instead of RestAssured picking a mapper by content type and
+// serializing request bodies into a String.
+final class JsonObjectMapper implements ObjectMapper {
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        Type type = context.getType();
+        if (type instanceof Class<?> cls) {
+            return Json.read(context.getDataToDeserialize().asByteArray(), cls);
+        }
+        // generic types (TypeRef) are rare here: let the mapper resolve them
+        try {
+            return Json.mapper().readValue(context.getDataToDeserialize().asByteArray(),
+                    Json.mapper().constructType(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not deserialize response into " + type.getTypeName(), e);
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        return Json.requestBody(context.getObjectToSerialize());
+    }
+}
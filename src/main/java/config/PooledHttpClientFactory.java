@@ -0,0 +1,98 @@
+package config;
+
+import io.restassured.config.HttpClientConfig;
+import metrics.WireBytes;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Builds ONE keep-alive HttpClient backed by a connection pool.
+// RestAssured expects an AbstractHttpClient, hence the (deprecated) DefaultHttpClient API.
+@SuppressWarnings("deprecation")
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+
+    private final TransportConfig transport;
+    private final PoolingClientConnectionManager connectionManager;
+    private final ScheduledExecutorService evictor;
+
+    public PooledHttpClientFactory(TransportConfig transport) {
+        this.transport = transport;
+
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(transport.maxTotal());
+        connectionManager.setDefaultMaxPerRoute(transport.maxPerRoute());
+
+        // background thread: drop stale / idle sockets so the pool never hands out a dead connection
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-idle-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, transport.idleEviction().toMillis() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager);
+
+        HttpParams params = client.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, (int) transport.connectTimeout().toMillis());
+        HttpConnectionParams.setSoTimeout(params, (int) transport.readTimeout().toMillis());
+        HttpConnectionParams.setStaleCheckingEnabled(params, false);   // the evictor does this instead
+        HttpConnectionParams.setTcpNoDelay(params, true);
+
+        client.setKeepAliveStrategy(keepAliveStrategy());
+        client.addResponseInterceptor(bufferEntity());
+        return client;
+    }
+
+    public PoolingClientConnectionManager connectionManager() {
+        return connectionManager;
+    }
+
+    public void shutdown() {
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+
+    // honour the server's Keep-Alive header, but never keep a socket longer than configured
+    private ConnectionKeepAliveStrategy keepAliveStrategy() {
+        long max = transport.keepAlive().toMillis();
+        DefaultConnectionKeepAliveStrategy serverHint = new DefaultConnectionKeepAliveStrategy();
+        return (response, context) -> {
+            long hinted = serverHint.getKeepAliveDuration(response, context);
+            return hinted > 0 ? Math.min(hinted, max) : max;
+        };
+    }
+
+    // read the body before the connection is handed back, otherwise a caller that only
+    // looks at statusCode() keeps the pooled connection leased forever.
+    // Runs before RestAssured's gzip/deflate decoding, so the buffered size is what crossed the wire.
+    private static HttpResponseInterceptor bufferEntity() {
+        return (response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity != null && entity.isStreaming()) {
+                BufferedHttpEntity buffered = new BufferedHttpEntity(entity);
+                response.setEntity(buffered);
+                WireBytes.received(buffered.getContentLength());
+            }
+        };
+    }
+
+    private void evictIdle() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(transport.idleEviction().toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,41 @@
+package config;
+
+import java.time.Duration;
+
+// Connection pool / timeout settings shared by every client built from ApiConfig.
+// Each value can be overridden with a system property, e.g. -Dapi.pool.maxTotal=200
+public record TransportConfig(int maxTotal,
+                              int maxPerRoute,
+                              Duration keepAlive,
+                              Duration idleEviction,
+                              Duration connectTimeout,
+                              Duration readTimeout) {
+
+    public static TransportConfig defaults() {
+        return new TransportConfig(
+                100,
+                50,
+                Duration.ofSeconds(30),
+                Duration.ofSeconds(10),
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(30)
+        );
+    }
+
+    public static TransportConfig fromSystemProperties() {
+        TransportConfig d = defaults();
+        return new TransportConfig(
+                Integer.getInteger("api.pool.maxTotal", d.maxTotal()),
+                Integer.getInteger("api.pool.maxPerRoute", d.maxPerRoute()),
+                millis("api.pool.keepAliveMs", d.keepAlive()),
+                millis("api.pool.idleEvictionMs", d.idleEviction()),
+                millis("api.connectTimeoutMs", d.connectTimeout()),
+                millis("api.readTimeoutMs", d.readTimeout())
+        );
+    }
+
+    private static Duration millis(String property, Duration fallback) {
+        Long value = Long.getLong(property);
+        return value == null ? fallback : Duration.ofMillis(value);
+    }
+}
@@ -0,0 +1,55 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies for one scenario, recorded from many threads without locking.
+//   responseTime: completion - intended start (includes time spent waiting to be sent)
+//   serviceTime:  completion - actual start
+// In a closed loop both start times are the same.
+final class EndpointStats {
+
+    // 1 µs .. 1 h at 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String name;
+    private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void record(long intendedStartNanos, long startNanos, long endNanos, boolean failed) {
+        responseTime.recordValue(toMicros(endNanos - intendedStartNanos));
+        serviceTime.recordValue(toMicros(endNanos - startNanos));
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    // open model only: the request was due but had to wait until one of maxInFlight requests finished
+    void queued() {
+        queued.increment();
+    }
+
+    LoadReport.Row snapshot(double elapsedSeconds) {
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        return new LoadReport.Row(name, response.getTotalCount(), errors.sum(), queued.sum(),
+                response.getTotalCount() / elapsedSeconds, response, service);
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(1, nanos / 1_000), HIGHEST_TRACKABLE_MICROS);
+    }
+}
@@ -0,0 +1,184 @@
+package load;
+
+import auth.AuthClient;
+import config.ApiConfig;
+import metrics.ApiMetrics;
+import metrics.EndpointSnapshot;
+import products.ProductsClient;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+// Drives a weighted mix of client calls and reports latency percentiles per scenario.
+//
+// Open model (targetRps > 0): request #i is due at a precomputed instant and its latency is measured
+// from that instant, not from when a thread got round to sending it. A stalled backend therefore shows
+// up as queueing time in every request that should have been sent during the stall, instead of as one
+// slow request followed by a pause in sending (coordinated omission).
+//
+// Run it with: mvn compile exec:java -Pload -Dload.rps=200 -Dload.durationSeconds=60 [-Dapi.target=stub]
+public class LoadDriver {
+
+    private final List<Scenario> scenarios;
+    private final int[] cumulativeWeights;
+    private final LoadProfile profile;
+    private final Executor executor;
+
+    public LoadDriver(List<Scenario> scenarios, LoadProfile profile) {
+        this(scenarios, profile, ApiConfig.executor());
+    }
+
+    // the executor must not queue: with a bounded pool the wait would move out of the measurement
+    public LoadDriver(List<Scenario> scenarios, LoadProfile profile, Executor executor) {
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("At least one scenario is required");
+        }
+        this.scenarios = List.copyOf(scenarios);
+        this.profile = profile;
+        this.executor = executor;
+        this.cumulativeWeights = new int[scenarios.size()];
+        int total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("All scenario weights are 0");
+        }
+    }
+
+    public LoadReport run() {
+        EndpointStats[] stats = scenarios.stream()
+                .map(scenario -> new EndpointStats(scenario.name()))
+                .toArray(EndpointStats[]::new);
+
+        long start = System.nanoTime();
+        if (profile.isOpenModel()) {
+            runOpenModel(start, stats);
+        } else {
+            runClosedLoop(start, stats);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        return new LoadReport(profile, elapsedSeconds, Arrays.stream(stats)
+                .map(s -> s.snapshot(elapsedSeconds))
+                .toList());
+    }
+
+    private void runOpenModel(long start, EndpointStats[] stats) {
+        long end = start + profile.duration().toNanos();
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + profile.intendedStartNanos(i);
+            if (intendedStart - end >= 0) {
+                break;
+            }
+            parkUntil(intendedStart);
+
+            int index = pick();
+            // all maxInFlight slots taken: the request waits for one instead of being skipped, and the wait
+            // counts in its response time (measured from intendedStart), as do the delays of the requests
+            // due behind it; the schedule itself never moves
+            if (!inFlight.tryAcquire()) {
+                stats[index].queued();
+                inFlight.acquireUninterruptibly();
+            }
+            executor.execute(() -> {
+                try {
+                    call(scenarios.get(index), stats[index], intendedStart);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        // let outstanding requests finish (each one is bounded by the transport read timeout)
+        inFlight.acquireUninterruptibly(profile.maxInFlight());
+    }
+
+    private void runClosedLoop(long start, EndpointStats[] stats) {
+        long end = start + profile.duration().toNanos();
+        CountDownLatch done = new CountDownLatch(profile.concurrency());
+
+        for (int worker = 0; worker < profile.concurrency(); worker++) {
+            long workerStart = start + profile.workerStartNanos(worker);
+            executor.execute(() -> {
+                try {
+                    parkUntil(workerStart);
+                    while (System.nanoTime() - end < 0) {
+                        int index = pick();
+                        call(scenarios.get(index), stats[index], System.nanoTime());
+                    }
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for load workers", e);
+        }
+    }
+
+    private static void call(Scenario scenario, EndpointStats stats, long intendedStart) {
+        long startNanos = System.nanoTime();
+        boolean failed = false;
+        try {
+            scenario.call().run();
+        } catch (RuntimeException e) {
+            failed = true;
+        }
+        stats.record(intendedStart, startNanos, System.nanoTime(), failed);
+    }
+
+    private int pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        throw new AssertionError(ticket);
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // -Dload.mix=getProductById=70,searchProductsByName=20,authFlow=10 (see Scenarios)
+    // -Dload.histogramDir=target/load writes one .hgrm percentile file per scenario
+    public static void main(String[] args) {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        List<Scenario> mix = Scenarios.parse(System.getProperty("load.mix", Scenarios.DEFAULT_MIX),
+                new AuthClient(), new ProductsClient(), Scenarios.credentialsFromEnvironment());
+
+        System.out.printf("Load against %s, ramp-up %s, duration %s%n",
+                ApiConfig.baseUri(), profile.rampUp(), profile.duration());
+        LoadReport report = new LoadDriver(mix, profile).run();
+        report.print(System.out);
+
+        // the same run split by HTTP endpoint (authFlow = three requests), from the client metrics filter
+        System.out.printf("%n%-40s %8s %7s %9s %9s%n", "endpoint", "requests", "errors", "p50 ms", "p99 ms");
+        for (EndpointSnapshot endpoint : ApiMetrics.global().snapshot()) {
+            System.out.printf(Locale.ROOT, "%-40s %8d %7d %9.2f %9.2f%n", endpoint.name(), endpoint.requests(),
+                    endpoint.errors(), endpoint.percentileMillis(50), endpoint.percentileMillis(99));
+        }
+
+        String histogramDir = System.getProperty("load.histogramDir");
+        if (histogramDir != null && !histogramDir.isBlank()) {
+            report.writeDistributions(Path.of(histogramDir));
+        }
+    }
+}
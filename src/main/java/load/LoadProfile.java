@@ -0,0 +1,60 @@
+package load;
+
+import java.time.Duration;
+
+// How hard and how long to drive the mix.
+//   targetRps > 0 : open model, requests start on a fixed schedule whatever the response times
+//   targetRps = 0 : closed loop, "concurrency" workers each send the next request when the last one returned
+// The rate (open) or the number of active workers (closed) grows linearly during rampUp.
+public record LoadProfile(double targetRps, int concurrency, Duration rampUp, Duration duration, int maxInFlight) {
+
+    public LoadProfile {
+        if (targetRps < 0 || concurrency < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Invalid load profile: rps=" + targetRps
+                    + ", concurrency=" + concurrency + ", maxInFlight=" + maxInFlight);
+        }
+        if (rampUp.compareTo(duration) > 0) {
+            throw new IllegalArgumentException("Ramp-up " + rampUp + " is longer than the run " + duration);
+        }
+    }
+
+    public static LoadProfile openModel(double targetRps, Duration rampUp, Duration duration) {
+        return new LoadProfile(targetRps, 1, rampUp, duration, 10_000);
+    }
+
+    public static LoadProfile closedLoop(int concurrency, Duration rampUp, Duration duration) {
+        return new LoadProfile(0, concurrency, rampUp, duration, concurrency);
+    }
+
+    // -Dload.rps=200 (0 = closed loop) -Dload.concurrency=16 -Dload.rampUpSeconds=10
+    // -Dload.durationSeconds=60 -Dload.maxInFlight=10000
+    public static LoadProfile fromSystemProperties() {
+        double rps = Double.parseDouble(System.getProperty("load.rps", "100"));
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        Duration rampUp = Duration.ofSeconds(Long.getLong("load.rampUpSeconds", 10L));
+        Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 60L));
+        int maxInFlight = Integer.getInteger("load.maxInFlight", rps > 0 ? 10_000 : concurrency);
+        return new LoadProfile(rps, concurrency, rampUp, duration, maxInFlight);
+    }
+
+    public boolean isOpenModel() {
+        return targetRps > 0;
+    }
+
+    // Offset from the start of the run at which request #index is due (open model).
+    // The rate climbs linearly from 0 to targetRps over rampUp, so requests due during the
+    // ramp are n(t) = rps * t^2 / (2 * rampUp), and after it rps * rampUp / 2 + rps * (t - rampUp).
+    long intendedStartNanos(long index) {
+        double rampSeconds = rampUp.toNanos() / 1e9;
+        double inRamp = targetRps * rampSeconds / 2;
+        double seconds = index < inRamp
+                ? Math.sqrt(2 * rampSeconds * index / targetRps)
+                : rampSeconds + (index - inRamp) / targetRps;
+        return (long) (seconds * 1e9);
+    }
+
+    // offset at which closed-loop worker #worker starts sending
+    long workerStartNanos(int worker) {
+        return rampUp.toNanos() * worker / concurrency;
+    }
+}
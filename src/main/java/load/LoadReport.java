@@ -0,0 +1,68 @@
+package load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+// Result of one LoadDriver run: one row per scenario, latencies in microseconds.
+public record LoadReport(LoadProfile profile, double elapsedSeconds, List<Row> rows) {
+
+    public record Row(String name, long count, long errors, long queued, double throughput,
+                      Histogram responseTime, Histogram serviceTime) {
+
+        public double percentileMillis(double percentile) {
+            return responseTime.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public Row row(String name) {
+        return rows.stream()
+                .filter(row -> row.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No scenario '" + name + "'"));
+    }
+
+    public long totalCount() {
+        return rows.stream().mapToLong(Row::count).sum();
+    }
+
+    public long totalErrors() {
+        return rows.stream().mapToLong(Row::errors).sum();
+    }
+
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%s, %.1f s%n", profile.isOpenModel()
+                ? String.format(Locale.ROOT, "open model, target %.1f req/s", profile.targetRps())
+                : "closed loop, " + profile.concurrency() + " workers", elapsedSeconds);
+        out.printf(Locale.ROOT, "%-40s %8s %7s %7s %9s %9s %9s %9s %9s %9s %11s%n", "scenario", "count", "errors",
+                "queued", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        for (Row row : rows) {
+            out.printf(Locale.ROOT, "%-40s %8d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                    row.name(), row.count(), row.errors(), row.queued(), row.throughput(),
+                    row.percentileMillis(50), row.percentileMillis(90), row.percentileMillis(99),
+                    row.percentileMillis(99.9), row.responseTime().getMaxValue() / 1000.0,
+                    row.serviceTime().getValueAtPercentile(99) / 1000.0);
+        }
+    }
+
+    // one HdrHistogram percentile distribution file per scenario (plot with HistogramLogAnalyzer / hdrhistogram.org)
+    public void writeDistributions(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (Row row : rows) {
+                Path file = directory.resolve(row.name().replaceAll("[^A-Za-z0-9._-]+", "_") + ".hgrm");
+                try (PrintStream out = new PrintStream(file.toFile())) {
+                    row.responseTime().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write histograms to " + directory, e);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package load;
+
+// One entry of the load mix: "call" is picked with probability weight / sum(weights).
+// A call that throws is counted as an error; its latency is still recorded.
+public record Scenario(String name, int weight, Runnable call) {
+
+    public Scenario {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for scenario '" + name + "': " + weight);
+        }
+    }
+}
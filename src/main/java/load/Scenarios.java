@@ -0,0 +1,100 @@
+package load;
+
+import auth.AuthClient;
+import auth.LoginRequest;
+import auth.LoginResponse;
+import auth.RefreshRequest;
+import auth.RefreshResponse;
+import products.Product;
+import products.ProductsClient;
+import products.ProductsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// The calls a load mix can be built from, by name. Each call fails (throws) on a response
+// the functional tests would reject, so errors are counted even when the status is 200.
+public final class Scenarios {
+
+    public static final String DEFAULT_MIX = "getProductById=70,searchProductsByName=20,authFlow=10";
+
+    private static final String[] SEARCH_TERMS = {"phone", "laptop", "watch", "shirt", "perfume", "chair"};
+    private static final String[] CATEGORIES = {"smartphones", "laptops", "fragrances", "furniture", "groceries"};
+    private static final int MAX_PRODUCT_ID = 100;
+
+    private Scenarios() {}
+
+    // "name=weight,name=weight,..."
+    public static List<Scenario> parse(String mix, AuthClient auth, ProductsClient products, LoginRequest credentials) {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight in load mix, got '" + entry + "'");
+            }
+            String name = parts[0].trim();
+            scenarios.add(new Scenario(name, Integer.parseInt(parts[1].trim()), call(name, auth, products, credentials)));
+        }
+        return scenarios;
+    }
+
+    public static Runnable call(String name, AuthClient auth, ProductsClient products, LoginRequest credentials) {
+        return switch (name) {
+            case "getProductById" -> () -> getProductById(products);
+            case "searchProductsByName" -> () -> searchProductsByName(products);
+            case "getProductsByCategory" -> () -> getProductsByCategory(products);
+            case "getAllProducts" -> () -> check(products.getAllProducts(), "GET /products");
+            case "authFlow" -> () -> authFlow(auth, credentials);
+            default -> throw new IllegalArgumentException("Unknown scenario '" + name
+                    + "', expected one of getProductById, searchProductsByName, getProductsByCategory, "
+                    + "getAllProducts, authFlow");
+        };
+    }
+
+    // DUMMYJSON_USERNAME / DUMMYJSON_PASSWORD as for the tests, DummyJSON's demo user otherwise
+    public static LoginRequest credentialsFromEnvironment() {
+        String username = System.getenv().getOrDefault("DUMMYJSON_USERNAME", "emilys");
+        String password = System.getenv().getOrDefault("DUMMYJSON_PASSWORD", "emilyspass");
+        return new LoginRequest(username, password, 30);
+    }
+
+    private static void getProductById(ProductsClient products) {
+        int id = ThreadLocalRandom.current().nextInt(1, MAX_PRODUCT_ID + 1);
+        Product product = products.getProductById(id);   // a 404 body maps to a product with id 0
+        if (product.id() != id) {
+            throw new IllegalStateException("GET /products/" + id + " returned product " + product.id());
+        }
+    }
+
+    private static void searchProductsByName(ProductsClient products) {
+        String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+        check(products.searchProductsByName(term), "GET /products/search?q=" + term);
+    }
+
+    private static void getProductsByCategory(ProductsClient products) {
+        String category = CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)];
+        check(products.getProductsByCategory(category), "GET /products/category/" + category);
+    }
+
+    // login → me → refresh, the way a UI session starts
+    private static void authFlow(AuthClient auth, LoginRequest credentials) {
+        LoginResponse login = auth.login(credentials);
+        if (login.accessToken() == null) {
+            throw new IllegalStateException("POST /auth/login returned no access token");
+        }
+        if (auth.me(login.accessToken()).id() == 0) {
+            throw new IllegalStateException("GET /auth/me returned no user");
+        }
+        RefreshResponse refreshed = auth.refresh(new RefreshRequest(login.refreshToken()));
+        if (refreshed.accessToken() == null) {
+            throw new IllegalStateException("POST /auth/refresh returned no access token");
+        }
+    }
+
+    private static void check(ProductsResponse response, String request) {
+        if (response.products() == null) {
+            throw new IllegalStateException(request + " returned no product list");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package metrics;
+
+import config.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Per-endpoint client metrics. ApiConfig puts a MetricsFilter for global() on every request spec.
+// With -Dapi.metrics.summaryFile=path the global instance writes a JSON summary when the JVM exits
+// (the pom sets it to target/api-metrics-<fork number>.json for test runs, one file per surefire fork).
+public final class ApiMetrics {
+
+    public static final String SUMMARY_FILE_PROPERTY = "api.metrics.summaryFile";
+
+    private static final ApiMetrics GLOBAL = createGlobal();
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final List<Consumer<EndpointMetrics>> listeners = new CopyOnWriteArrayList<>();
+    private final MetricsFilter filter = new MetricsFilter(this);
+
+    public static ApiMetrics global() {
+        return GLOBAL;
+    }
+
+    public MetricsFilter filter() {
+        return filter;
+    }
+
+    public EndpointMetrics endpoint(String method, String template) {
+        String path = template == null || template.isEmpty() ? "/" : template;
+        String key = method + " " + path;
+        EndpointMetrics existing = endpoints.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        EndpointMetrics created = new EndpointMetrics(method, path);
+        existing = endpoints.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        listeners.forEach(listener -> listener.accept(created));
+        return created;
+    }
+
+    public List<EndpointMetrics> endpoints() {
+        return endpoints.values().stream()
+                .sorted(Comparator.comparing(EndpointMetrics::name))
+                .toList();
+    }
+
+    public List<EndpointSnapshot> snapshot() {
+        return endpoints().stream().map(EndpointMetrics::snapshot).toList();
+    }
+
+    // called for every endpoint that already exists and for each one seen later (see MicrometerBinder)
+    public void onEndpoint(Consumer<EndpointMetrics> listener) {
+        listeners.add(listener);
+        endpoints().forEach(listener);
+    }
+
+    public void writeSummary(Path file) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (EndpointSnapshot endpoint : snapshot()) {
+            summary.put(endpoint.name(), endpoint.toSummary());
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Json.mapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write API metrics to " + file, e);
+        }
+    }
+
+    private static ApiMetrics createGlobal() {
+        ApiMetrics metrics = new ApiMetrics();
+        String summaryFile = System.getProperty(SUMMARY_FILE_PROPERTY);
+        if (summaryFile != null && !summaryFile.isBlank()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (!metrics.endpoints.isEmpty()) {
+                    metrics.writeSummary(Path.of(summaryFile));
+                }
+            }, "api-metrics-summary"));
+        }
+        return metrics;
+    }
+}
@@ -0,0 +1,163 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters and latency histogram for one "METHOD /path/{template}". Recording never takes a lock:
+// LongAdders for counts, an HdrHistogram Recorder (wait-free writers) for latency. Readers fold the
+// recorder's interval histogram into a cumulative one under this object's monitor.
+public final class EndpointMetrics {
+
+    // 1 µs .. 1 h at 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final String method;
+    private final String template;
+
+    private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();       // response bodies after decoding
+    private final LongAdder wireBytesIn = new LongAdder();   // the same bodies as transferred (gzip/deflate)
+    private final LongAdder bytesOut = new LongAdder();
+    // recorded by resilience.Resilience
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    // index = status / 100 (1xx .. 5xx), fixed so exported series have bounded cardinality
+    private final LongAdder[] statusClasses = {new LongAdder(), new LongAdder(), new LongAdder(),
+            new LongAdder(), new LongAdder(), new LongAdder()};
+
+    private Histogram cumulative;   // guarded by this
+    private Histogram interval;     // guarded by this, recycled by the recorder
+
+    EndpointMetrics(String method, String template) {
+        this.method = method;
+        this.template = template;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public String name() {
+        return method + " " + template;
+    }
+
+    void record(long elapsedNanos, int statusCode, long bytesReceived, long wireBytesReceived, long bytesSent) {
+        latency.recordValue(toMicros(elapsedNanos));
+        requests.increment();
+        bytesIn.add(bytesReceived);
+        wireBytesIn.add(wireBytesReceived);
+        bytesOut.add(bytesSent);
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        if (statusCode >= 100 && statusCode < 600) {
+            statusClasses[statusCode / 100].increment();
+        }
+        if (statusCode >= 500) {
+            errors.increment();
+        }
+    }
+
+    // no response at all (connection refused, timeout, ...)
+    void recordFailure(long elapsedNanos, long bytesSent) {
+        latency.recordValue(toMicros(elapsedNanos));
+        requests.increment();
+        errors.increment();
+        bytesOut.add(bytesSent);
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordHedge() {
+        hedges.increment();
+    }
+
+    // the hedged copy answered before the original request
+    public void recordHedgeWin() {
+        hedgeWins.increment();
+    }
+
+    // rejected by an open circuit breaker, never sent
+    public void recordShortCircuit() {
+        shortCircuits.increment();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    // transport failures and 5xx responses
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long bytesIn() {
+        return bytesIn.sum();
+    }
+
+    public long wireBytesIn() {
+        return wireBytesIn.sum();
+    }
+
+    public long bytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long retries() {
+        return retries.sum();
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long shortCircuits() {
+        return shortCircuits.sum();
+    }
+
+    // statusClass 2 = 2xx, ...
+    public long statusClassCount(int statusClass) {
+        return statusClasses[statusClass].sum();
+    }
+
+    // copy of every latency recorded so far, in microseconds
+    public synchronized Histogram latencyMicros() {
+        interval = latency.getIntervalHistogram(interval);
+        if (cumulative == null) {
+            cumulative = interval.copy();
+        } else {
+            cumulative.add(interval);
+        }
+        return cumulative.copy();
+    }
+
+    public EndpointSnapshot snapshot() {
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCodes.forEach((code, count) -> statuses.put(code, count.sum()));
+        return new EndpointSnapshot(method, template, requests(), errors(), bytesIn(), wireBytesIn(), bytesOut(),
+                retries(), hedges(), hedgeWins(), shortCircuits(), statuses, latencyMicros());
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(Math.max(1, nanos / 1_000), HIGHEST_TRACKABLE_MICROS);
+    }
+}
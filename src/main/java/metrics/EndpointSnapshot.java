@@ -0,0 +1,53 @@
+package metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Point-in-time copy of one endpoint's metrics; latency histogram values are microseconds.
+public record EndpointSnapshot(String method, String template, long requests, long errors,
+                               long bytesIn, long wireBytesIn, long bytesOut, long retries, long hedges, long hedgeWins,
+                               long shortCircuits, Map<Integer, Long> statusCodes,
+                               Histogram latencyMicros) {
+
+    public String name() {
+        return method + " " + template;
+    }
+
+    // share of the response bytes saved by compression (0 = nothing compressed)
+    public double compressionSavings() {
+        return bytesIn == 0 ? 0 : 1 - (double) wireBytesIn / bytesIn;
+    }
+
+    public double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    // shape of one entry in the JSON summary
+    Map<String, Object> toSummary() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", latencyMicros.getMean() / 1000.0);
+        latency.put("p50", percentileMillis(50));
+        latency.put("p90", percentileMillis(90));
+        latency.put("p99", percentileMillis(99));
+        latency.put("p999", percentileMillis(99.9));
+        latency.put("max", latencyMicros.getMaxValue() / 1000.0);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("method", method);
+        summary.put("template", template);
+        summary.put("requests", requests);
+        summary.put("errors", errors);
+        summary.put("bytesIn", bytesIn);
+        summary.put("wireBytesIn", wireBytesIn);
+        summary.put("bytesOut", bytesOut);
+        summary.put("retries", retries);
+        summary.put("hedges", hedges);
+        summary.put("hedgeWins", hedgeWins);
+        summary.put("shortCircuits", shortCircuits);
+        summary.put("statusCodes", statusCodes);
+        summary.put("latencyMs", latency);
+        return summary;
+    }
+}
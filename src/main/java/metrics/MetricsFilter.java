@@ -0,0 +1,59 @@
+package metrics;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+// Times every request that goes through a client spec and records it under its path template
+// (getUserDefinedPath: "/products/{id}", not "/products/1"). Runs after all other filters (except a
+// CassetteFilter, which stands in for the wire) so the time is as close to the wire as RestAssured allows.
+public class MetricsFilter implements OrderedFilter {
+
+    private final ApiMetrics metrics;
+
+    public MetricsFilter(ApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        EndpointMetrics endpoint = metrics.endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        long bytesSent = bodySize(requestSpec.getBody());
+        WireBytes.reset();   // drop the size left behind by the previous request
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (RuntimeException e) {
+            endpoint.recordFailure(System.nanoTime() - start, bytesSent);
+            throw e;
+        }
+        long elapsed = System.nanoTime() - start;
+        // the entity is already buffered by the transport; RestAssured keeps the bytes for later reads
+        long bytesReceived = response.asByteArray().length;
+        long wireBytes = WireBytes.last();
+        endpoint.record(elapsed, response.getStatusCode(), bytesReceived, wireBytes < 0 ? bytesReceived : wireBytes, bytesSent);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    private static long bodySize(Object body) {
+        if (body instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,68 @@
+package metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+
+// Exposes ApiMetrics in any Micrometer registry (Prometheus, JMX, ...). Counters read the
+// LongAdders directly; latency percentiles are gauges over the cumulative HdrHistogram.
+// Tags: method, uri (the path template), plus status=2xx.. or percentile=0.5.. where relevant.
+public class MicrometerBinder implements MeterBinder {
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final ApiMetrics metrics;
+
+    public MicrometerBinder(ApiMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.onEndpoint(endpoint -> bind(registry, endpoint));
+    }
+
+    private static void bind(MeterRegistry registry, EndpointMetrics endpoint) {
+        Tags tags = Tags.of("method", endpoint.method(), "uri", endpoint.template());
+
+        FunctionCounter.builder("api.client.requests", endpoint, EndpointMetrics::requests)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("api.client.errors", endpoint, EndpointMetrics::errors)
+                .description("transport failures and 5xx responses")
+                .tags(tags).register(registry);
+        FunctionCounter.builder("api.client.bytes.in", endpoint, EndpointMetrics::bytesIn)
+                .baseUnit("bytes").tags(tags).register(registry);
+        FunctionCounter.builder("api.client.bytes.in.wire", endpoint, EndpointMetrics::wireBytesIn)
+                .description("response bytes as transferred, before gzip/deflate decoding")
+                .baseUnit("bytes").tags(tags).register(registry);
+        FunctionCounter.builder("api.client.bytes.out", endpoint, EndpointMetrics::bytesOut)
+                .baseUnit("bytes").tags(tags).register(registry);
+        FunctionCounter.builder("api.client.retries", endpoint, EndpointMetrics::retries)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("api.client.hedges", endpoint, EndpointMetrics::hedges)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("api.client.hedges.won", endpoint, EndpointMetrics::hedgeWins)
+                .tags(tags).register(registry);
+        FunctionCounter.builder("api.client.short.circuited", endpoint, EndpointMetrics::shortCircuits)
+                .description("requests rejected by an open circuit breaker")
+                .tags(tags).register(registry);
+
+        for (int statusClass = 1; statusClass <= 5; statusClass++) {
+            int index = statusClass;
+            FunctionCounter.builder("api.client.responses", endpoint, e -> e.statusClassCount(index))
+                    .tags(tags.and("status", statusClass + "xx")).register(registry);
+        }
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder("api.client.latency", endpoint, TimeUnit.MICROSECONDS,
+                            e -> e.latencyMicros().getValueAtPercentile(percentile * 100))
+                    .tags(tags.and("percentile", String.valueOf(percentile))).register(registry);
+        }
+        TimeGauge.builder("api.client.latency.max", endpoint, TimeUnit.MICROSECONDS,
+                        e -> e.latencyMicros().getMaxValue())
+                .tags(tags).register(registry);
+    }
+}
@@ -0,0 +1,25 @@
+package metrics;
+
+// Response body size as it came off the socket (before gzip/deflate decoding), handed from the
+// HttpClient interceptor that buffers the entity to MetricsFilter. RestAssured runs the filter chain and
+// the request on the calling thread, so a thread-local is enough.
+public final class WireBytes {
+
+    private static final ThreadLocal<long[]> RECEIVED = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    private WireBytes() {}
+
+    public static void received(long bytes) {
+        RECEIVED.get()[0] = bytes;
+    }
+
+    public static void reset() {
+        RECEIVED.get()[0] = -1;
+    }
+
+    // the size recorded for the current thread's last response since reset(), or -1; not cleared, so
+    // every MetricsFilter on the chain (the global one and any a caller added) sees the same value
+    public static long last() {
+        return RECEIVED.get()[0];
+    }
+}
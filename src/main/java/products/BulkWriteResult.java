@@ -0,0 +1,72 @@
+package products;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+// Outcome of ProductsClient.bulkWrite: one Op per submitted operation, in submission order.
+public record BulkWriteResult(List<Op> ops, Duration elapsed) {
+
+    public BulkWriteResult {
+        ops = List.copyOf(ops);
+    }
+
+    // status is the HTTP status code, or 0 when no response came back (I/O error, open circuit);
+    // product is only set for 2xx answers
+    public record Op(int index, ProductWrite write, int status, long latencyNanos, Product product,
+                     RuntimeException error) {
+
+        public boolean isSuccess() {
+            return error == null && status >= 200 && status < 300;
+        }
+    }
+
+    public long succeeded() {
+        return ops.stream().filter(Op::isSuccess).count();
+    }
+
+    public long failed() {
+        return ops.size() - succeeded();
+    }
+
+    public List<Op> failures() {
+        return ops.stream().filter(op -> !op.isSuccess()).toList();
+    }
+
+    // status code → count; 0 collects the operations that got no response
+    public Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        ops.forEach(op -> counts.merge(op.status(), 1L, Long::sum));
+        return counts;
+    }
+
+    // nearest-rank percentile of per-operation latency (0 < percentile <= 100)
+    public Duration latencyPercentile(double percentile) {
+        if (ops.isEmpty()) {
+            return Duration.ZERO;
+        }
+        long[] latencies = ops.stream().mapToLong(Op::latencyNanos).toArray();
+        Arrays.sort(latencies);
+        int rank = (int) Math.ceil(percentile / 100 * latencies.length);
+        return Duration.ofNanos(latencies[Math.max(0, Math.min(latencies.length, rank) - 1)]);
+    }
+
+    public double opsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : ops.size() * 1e9 / nanos;
+    }
+
+    // one line for logs, e.g. "1000 ops in 2.1 s (476 ops/s): 998 ok, 2 failed {200=998, 404=2}; p50 12.0 ms p99 40.3 ms max 51.0 ms"
+    public String summary() {
+        return String.format("%d ops in %.1f s (%.0f ops/s): %d ok, %d failed %s; p50 %.1f ms p99 %.1f ms max %.1f ms",
+                ops.size(), elapsed.toMillis() / 1000.0, opsPerSecond(), succeeded(), failed(), statusCounts(),
+                millis(latencyPercentile(50)), millis(latencyPercentile(99)), millis(latencyPercentile(100)));
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,151 @@
+package products;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Runs a stream of ProductWrites with at most maxConcurrency requests outstanding.
+// Operations on the same product id are chained on each other's futures, so they run one after
+// another in submission order without parking a thread; unrelated ids (and creates) run in parallel
+// over the pooled keep-alive connections. A send slot is only taken once an operation is ready to go,
+// so writes queued behind an earlier write to their id never hold one while they wait.
+// The submitting thread reads at most READ_AHEAD_PER_SLOT * maxConcurrency writes ahead of the ones
+// that have finished, so an unbounded stream is never buffered in memory (only its results are kept).
+class BulkWriter {
+
+    static final int READ_AHEAD_PER_SLOT = 4;
+
+    private final Function<ProductWrite, Response> send;
+    private final Executor executor;
+    private final int maxConcurrency;
+
+    BulkWriter(Function<ProductWrite, Response> send, Executor executor, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0, was " + maxConcurrency);
+        }
+        this.send = send;
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    BulkWriteResult run(Iterator<ProductWrite> writes) {
+        long start = System.nanoTime();
+        Semaphore readAhead = new Semaphore(READ_AHEAD_PER_SLOT * maxConcurrency);
+        SendSlots slots = new SendSlots(maxConcurrency, executor);
+        List<CompletableFuture<BulkWriteResult.Op>> pending = new ArrayList<>();
+        // last unfinished write per id; an entry is dropped as soon as its write completes
+        Map<Integer, CompletableFuture<BulkWriteResult.Op>> lastById = new ConcurrentHashMap<>();
+
+        int index = 0;
+        while (writes.hasNext()) {
+            ProductWrite write = writes.next();
+            int opIndex = index++;
+            readAhead.acquireUninterruptibly();
+
+            Integer id = idOf(write);
+            CompletableFuture<?> previous = id == null ? null : lastById.get(id);
+            CompletableFuture<BulkWriteResult.Op> op = previous == null
+                    ? slots.submit(() -> execute(opIndex, write))
+                    // execute never throws, so the chain is never cut short by a failed predecessor
+                    : previous.thenCompose(ignored -> slots.submit(() -> execute(opIndex, write)));
+            if (id != null) {
+                lastById.put(id, op);
+                // registered after the put: a write that already finished removes its own entry right here
+                op.whenComplete((result, error) -> lastById.remove(id, op));
+            }
+            op.whenComplete((result, error) -> readAhead.release());
+            pending.add(op);
+        }
+
+        List<BulkWriteResult.Op> ops = new ArrayList<>(pending.size());
+        pending.forEach(op -> ops.add(op.join()));
+        return new BulkWriteResult(ops, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private BulkWriteResult.Op execute(int index, ProductWrite write) {
+        long start = System.nanoTime();
+        try {
+            Response response = send.apply(write);
+            int status = response.statusCode();
+            Product product = status >= 200 && status < 300 ? response.as(Product.class) : null;
+            return new BulkWriteResult.Op(index, write, status, System.nanoTime() - start, product, null);
+        } catch (RuntimeException e) {
+            return new BulkWriteResult.Op(index, write, 0, System.nanoTime() - start, null, e);
+        }
+    }
+
+    private static Integer idOf(ProductWrite write) {
+        if (write instanceof ProductWrite.Update update) {
+            return update.id();
+        }
+        if (write instanceof ProductWrite.Delete delete) {
+            return delete.id();
+        }
+        return null;   // a create has no id until the server assigns one
+    }
+
+    // maxConcurrency sends at a time without blocking anyone: a ready operation beyond that waits in a
+    // queue and is started by the send that frees the slot
+    private static final class SendSlots {
+
+        private final Executor executor;
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int free;
+
+        SendSlots(int slots, Executor executor) {
+            this.free = slots;
+            this.executor = executor;
+        }
+
+        CompletableFuture<BulkWriteResult.Op> submit(Supplier<BulkWriteResult.Op> send) {
+            CompletableFuture<BulkWriteResult.Op> result = new CompletableFuture<>();
+            Runnable task = () -> {
+                try {
+                    result.complete(send.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    release();
+                }
+            };
+            boolean start;
+            synchronized (this) {
+                start = free > 0;
+                if (start) {
+                    free--;
+                } else {
+                    waiting.add(task);
+                }
+            }
+            if (start) {
+                executor.execute(task);
+            }
+            return result;
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    free++;
+                }
+            }
+            if (next != null) {
+                executor.execute(next);
+            }
+        }
+    }
+}
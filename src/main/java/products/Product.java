@@ -1,109 +1,20 @@
 package products;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-@JsonIgnoreProperties(ignoreUnknown = true)
-public class Product {
-
-    private int id;
-    private String title;
-    private String description;
-    private int price;
-    private double discountPercentage;
-    private double rating;
-    private int stock;
-    private String brand;
-    private String category;
-    private Boolean isDeleted;
-    private String deletedOn;
-
-
-    public Product(){}
-
-    public int getId() {
-        return id;
-    }
-
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    public String getTitle() {
-        return title;
-    }
-
-    public void setTitle(String title) {
-        this.title = title;
-    }
-
-    public String getDescription() {
-        return description;
-    }
-
-    public void setDescription(String description) {
-        this.description = description;
-    }
-
-    public int getPrice() {
-        return price;
-    }
-
-    public void setPrice(int price) {
-        this.price = price;
-    }
 
-    public double getDiscountPercentage() {
-        return discountPercentage;
-    }
-
-    public void setDiscountPercentage(double discountPercentage) {
-        this.discountPercentage = discountPercentage;
-    }
-
-    public double getRating() {
-        return rating;
-    }
-
-    public void setRating(double rating) {
-        this.rating = rating;
-    }
-
-    public int getStock() {
-        return stock;
-    }
-
-    public void setStock(int stock) {
-        this.stock = stock;
-    }
-
-    public String getBrand() {
-        return brand;
-    }
-
-    public void setBrand(String brand) {
-        this.brand = brand;
-    }
-
-    public String getCategory() {
-        return category;
-    }
-
-    public void setCategory(String category) {
-        this.category = category;
-    }
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-    public Boolean getIsDeleted() {
-        return isDeleted;
-    }
+import java.util.List;
 
-    public void setDeleted(Boolean deleted) {
-        isDeleted = deleted;
-    }
+// Immutable product model. Only these fields are mapped; the clients ask the server for exactly
+// these via ?select= (FIELDS), so images, reviews, dimensions, meta, ... are never sent or parsed.
+// isDeleted / deletedOn are only present in DELETE responses.
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Product(int id, String title, String description, int price, double discountPercentage,
+                      double rating, int stock, String brand, String category,
+                      Boolean isDeleted, String deletedOn) {
 
-    public String getDeletedOn() {
-        return deletedOn;
-    }
+    // "id" is always returned by the server, so it is not listed
+    public static final List<String> FIELDS = List.of("title", "description", "price", "discountPercentage",
+            "rating", "stock", "brand", "category");
 
-    public void setDeletedOn(String deletedOn) {
-        this.deletedOn = deletedOn;
-    }
+    static final String SELECT = String.join(",", FIELDS);
 }
-
@@ -0,0 +1,348 @@
+package products;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// In-memory copy of the catalogue that answers search and category queries without a round trip.
+// Products live in one array (slot = position); the inverted index maps each lowercase title/description
+// token, and each category, to a sorted int[] of slots. A query is a few array scans plus a BitSet.
+//
+// The catalogue is re-read every resyncInterval. DummyJSON has no change feed, so the products are
+// compared one by one with the current snapshot; only the postings of changed products are rebuilt,
+// and the new snapshot is swapped in atomically (readers never see a half-applied resync).
+public class ProductIndex implements AutoCloseable {
+
+    // page size of the server when search / category are called without skip/limit
+    static final int DEFAULT_LIMIT = 30;
+    private static final int SYNC_PAGE_SIZE = 100;
+
+    private final Supplier<Stream<Product>> catalogue;
+    private final ScheduledExecutorService scheduler;
+    private final Object syncLock = new Object();
+
+    private volatile Snapshot snapshot;
+    private volatile Instant syncedAt;
+
+    // snapshots the whole catalogue through source (paged, with the usual projection) and keeps it in
+    // sync every resyncInterval; Duration.ZERO = never resync on its own
+    public static ProductIndex load(ProductsClient source, Duration resyncInterval) {
+        return new ProductIndex(() -> source.streamAllProducts(SYNC_PAGE_SIZE), resyncInterval);
+    }
+
+    ProductIndex(Supplier<Stream<Product>> catalogue, Duration resyncInterval) {
+        this.catalogue = catalogue;
+        try (Stream<Product> products = catalogue.get()) {
+            this.snapshot = Snapshot.of(products.toArray(Product[]::new));
+        }
+        this.syncedAt = Instant.now();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "product-index-resync");
+            t.setDaemon(true);
+            return t;
+        });
+        if (!resyncInterval.isZero()) {
+            long millis = resyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::resyncQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // same result as GET /products/search?q={query}: case-insensitive substring of title or description
+    public ProductsResponse search(String query) {
+        Snapshot current = snapshot;
+        return current.page(current.search(query.toLowerCase(Locale.ROOT)));
+    }
+
+    // same result as GET /products/category/{category}
+    public ProductsResponse byCategory(String category) {
+        Snapshot current = snapshot;
+        return current.page(current.categories.getOrDefault(category, new int[0]));
+    }
+
+    public int size() {
+        return snapshot.size;
+    }
+
+    public Instant syncedAt() {
+        return syncedAt;
+    }
+
+    // re-reads the catalogue now; returns how many products were added, changed or removed
+    public int resync() {
+        synchronized (syncLock) {
+            Snapshot current = snapshot;
+            Map<Integer, Product> changed = new HashMap<>();
+            Set<Integer> seen = new HashSet<>();
+            try (Stream<Product> products = catalogue.get()) {
+                products.forEach(product -> {
+                    seen.add(product.id());
+                    Integer slot = current.slotById.get(product.id());
+                    if (slot == null || !product.equals(current.products[slot])) {
+                        changed.put(product.id(), product);
+                    }
+                });
+            }
+            Set<Integer> removed = new HashSet<>(current.slotById.keySet());
+            removed.removeAll(seen);
+
+            if (!changed.isEmpty() || !removed.isEmpty()) {
+                snapshot = current.apply(changed.values(), removed);
+            }
+            syncedAt = Instant.now();
+            return changed.size() + removed.size();
+        }
+    }
+
+    // a write went through the owning client: pick it up soon instead of at the next interval
+    void resyncSoon() {
+        if (!scheduler.isShutdown()) {
+            scheduler.execute(this::resyncQuietly);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void resyncQuietly() {
+        try {
+            resync();
+        } catch (RuntimeException e) {
+            // keep answering from the last good snapshot; the next interval tries again
+        }
+    }
+
+    // ===== snapshot =====
+
+    private static final class Snapshot {
+
+        final Product[] products;               // slot -> product, null once removed
+        final String[] texts;                   // slot -> lowercase title + '\0' + description; a query never
+                                                // contains '\0', so no match can span both fields
+        final int size;
+        final Map<Integer, Integer> slotById;   // only used while resyncing
+        final Map<String, int[]> postings;      // token -> sorted slots
+        final String[] vocabulary;              // sorted tokens, scanned for substring queries
+        final Map<String, int[]> categories;    // category -> sorted slots
+
+        private Snapshot(Product[] products, String[] texts, Map<Integer, Integer> slotById,
+                         Map<String, int[]> postings, Map<String, int[]> categories) {
+            this.products = products;
+            this.texts = texts;
+            this.size = slotById.size();
+            this.slotById = slotById;
+            this.postings = postings;
+            this.vocabulary = postings.keySet().toArray(String[]::new);
+            Arrays.sort(vocabulary);
+            this.categories = categories;
+        }
+
+        static Snapshot of(Product[] products) {
+            String[] texts = new String[products.length];
+            Map<Integer, Integer> slotById = new HashMap<>();
+            Map<String, IntList> postings = new HashMap<>();
+            Map<String, IntList> categories = new HashMap<>();
+            for (int i = 0; i < products.length; i++) {
+                int slot = i;
+                Product product = products[slot];
+                texts[slot] = text(product);
+                slotById.put(product.id(), slot);
+                for (String token : tokens(texts[slot])) {
+                    postings.computeIfAbsent(token, t -> new IntList()).add(slot);
+                }
+                if (product.category() != null) {
+                    categories.computeIfAbsent(product.category(), c -> new IntList()).add(slot);
+                }
+            }
+            return new Snapshot(products, texts, slotById, IntList.freeze(postings), IntList.freeze(categories));
+        }
+
+        // copy-on-write: untouched postings arrays are shared with the previous snapshot
+        Snapshot apply(Iterable<Product> changed, Set<Integer> removedIds) {
+            List<Product> added = new ArrayList<>();
+            for (Product product : changed) {
+                if (!slotById.containsKey(product.id())) {
+                    added.add(product);
+                }
+            }
+            Product[] nextProducts = Arrays.copyOf(products, products.length + added.size());
+            String[] nextTexts = Arrays.copyOf(texts, texts.length + added.size());
+            Map<Integer, Integer> nextSlots = new HashMap<>(slotById);
+            BitSet touched = new BitSet();
+            Map<Integer, Set<String>> newTokens = new HashMap<>();   // touched slot -> its tokens after the resync
+            Set<String> touchedTokens = new HashSet<>();
+            Set<String> touchedCategories = new HashSet<>();
+
+            int nextSlot = products.length;
+            for (Product product : changed) {
+                Integer slot = slotById.get(product.id());
+                if (slot == null) {
+                    slot = nextSlot++;
+                    nextSlots.put(product.id(), slot);
+                } else {
+                    forget(slot, touchedTokens, touchedCategories);
+                }
+                nextProducts[slot] = product;
+                nextTexts[slot] = text(product);
+                newTokens.put(slot, tokens(nextTexts[slot]));
+                touchedTokens.addAll(newTokens.get(slot));
+                if (product.category() != null) {
+                    touchedCategories.add(product.category());
+                }
+                touched.set(slot);
+            }
+            for (int id : removedIds) {
+                int slot = nextSlots.remove(id);
+                forget(slot, touchedTokens, touchedCategories);
+                nextProducts[slot] = null;
+                nextTexts[slot] = null;
+                newTokens.put(slot, Set.of());
+                touched.set(slot);
+            }
+
+            Map<String, int[]> nextPostings = new HashMap<>(postings);
+            for (String token : touchedTokens) {
+                rebuild(nextPostings, token, touched, slot -> newTokens.get(slot).contains(token));
+            }
+            Map<String, int[]> nextCategories = new HashMap<>(categories);
+            for (String category : touchedCategories) {
+                rebuild(nextCategories, category, touched,
+                        slot -> nextProducts[slot] != null && category.equals(nextProducts[slot].category()));
+            }
+            return new Snapshot(nextProducts, nextTexts, nextSlots, nextPostings, nextCategories);
+        }
+
+        // collects what the product in slot was indexed under, so those entries get rebuilt
+        private void forget(int slot, Set<String> touchedTokens, Set<String> touchedCategories) {
+            touchedTokens.addAll(tokens(texts[slot]));
+            if (products[slot].category() != null) {
+                touchedCategories.add(products[slot].category());
+            }
+        }
+
+        // keeps the untouched slots of key's array and re-adds the touched ones that still match
+        private static void rebuild(Map<String, int[]> index, String key, BitSet touched, IntPredicate matches) {
+            IntList slots = new IntList();
+            for (int slot : index.getOrDefault(key, new int[0])) {
+                if (!touched.get(slot)) {
+                    slots.add(slot);
+                }
+            }
+            for (int slot = touched.nextSetBit(0); slot >= 0; slot = touched.nextSetBit(slot + 1)) {
+                if (matches.test(slot)) {
+                    slots.add(slot);
+                }
+            }
+            if (slots.size == 0) {
+                index.remove(key);
+            } else {
+                int[] sorted = slots.toArray();
+                Arrays.sort(sorted);
+                index.put(key, sorted);
+            }
+        }
+
+        int[] search(String needle) {
+            BitSet candidates = null;
+            for (String token : tokens(needle)) {
+                // a query token may be part of a longer word ("phone" in "smartphone")
+                BitSet matches = new BitSet(products.length);
+                for (String word : vocabulary) {
+                    if (word.contains(token)) {
+                        for (int slot : postings.get(word)) {
+                            matches.set(slot);
+                        }
+                    }
+                }
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    candidates.and(matches);
+                }
+            }
+
+            // the postings only narrow things down; the substring check gives the server's exact answer
+            IntList result = new IntList();
+            if (candidates == null) {
+                // no word characters in the query ("" or "!"): the postings cannot help
+                for (int slot = 0; slot < texts.length; slot++) {
+                    if (texts[slot] != null && texts[slot].contains(needle)) {
+                        result.add(slot);
+                    }
+                }
+            } else {
+                for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+                    if (texts[slot].contains(needle)) {
+                        result.add(slot);
+                    }
+                }
+            }
+            return result.toArray();
+        }
+
+        ProductsResponse page(int[] slots) {
+            int limit = Math.min(DEFAULT_LIMIT, slots.length);
+            List<Product> page = new ArrayList<>(limit);
+            for (int i = 0; i < limit; i++) {
+                page.add(products[slots[i]]);
+            }
+            return new ProductsResponse(page, slots.length, 0, limit);
+        }
+
+        private static String text(Product product) {
+            return (nullToEmpty(product.title()) + '\0' + nullToEmpty(product.description())).toLowerCase(Locale.ROOT);
+        }
+
+        private static String nullToEmpty(String value) {
+            return value == null ? "" : value;
+        }
+
+        private static Set<String> tokens(String text) {
+            Set<String> tokens = new HashSet<>();
+            for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+            return tokens;
+        }
+    }
+
+    // growable int[] so building the index never boxes a slot
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+        static Map<String, int[]> freeze(Map<String, IntList> lists) {
+            Map<String, int[]> frozen = new HashMap<>(lists.size() * 2);
+            lists.forEach((key, list) -> frozen.put(key, list.toArray()));
+            return frozen;
+        }
+    }
+}
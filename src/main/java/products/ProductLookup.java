@@ -0,0 +1,17 @@
+package products;
+
+// Outcome for one id of ProductsClient.getProductsByIds: either the product or why it failed.
+public record ProductLookup(int id, Product product, RuntimeException error) {
+
+    static ProductLookup found(int id, Product product) {
+        return new ProductLookup(id, product, null);
+    }
+
+    static ProductLookup failed(int id, RuntimeException error) {
+        return new ProductLookup(id, null, error);
+    }
+
+    public boolean isFound() {
+        return error == null;
+    }
+}
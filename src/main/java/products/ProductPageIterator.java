@@ -0,0 +1,71 @@
+package products;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+
+// Walks /products page by page (skip/limit). While the caller consumes page N, page N+1 is
+// already being fetched, so at most two pages are held in memory at any time.
+class ProductPageIterator implements Iterator<Product>, AutoCloseable {
+
+    private final IntFunction<ProductsResponse> fetchPage;   // skip -> page
+    private final Executor executor;
+
+    private List<Product> current = List.of();
+    private int index;
+    private CompletableFuture<ProductsResponse> next;
+
+    ProductPageIterator(IntFunction<ProductsResponse> fetchPage, Executor executor) {
+        this.fetchPage = fetchPage;
+        this.executor = executor;
+        this.next = CompletableFuture.supplyAsync(() -> fetchPage.apply(0), executor);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index >= current.size()) {
+            if (next == null) {
+                return false;
+            }
+            ProductsResponse page = join(next);
+            List<Product> products = page.products() == null ? List.of() : page.products();
+            int nextSkip = page.skip() + products.size();
+
+            // an empty page means the server has nothing more, whatever "total" says
+            next = !products.isEmpty() && nextSkip < page.total()
+                    ? CompletableFuture.supplyAsync(() -> fetchPage.apply(nextSkip), executor)
+                    : null;
+            current = products;
+            index = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Product next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.get(index++);
+    }
+
+    @Override
+    public void close() {
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+    }
+
+    private static ProductsResponse join(CompletableFuture<ProductsResponse> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package products;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import config.ApiConfig;
+import config.AsyncTransport;
+import config.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static config.AsyncTransport.pathSegment;
+
+// Reads product listings straight off the socket: the body is never held as a String / tree and no
+// List<Product> is built, each Product is handed to the consumer as soon as it is parsed.
+// Meant for big pulls (limit=0) where ProductsResponse would hold the whole catalogue twice.
+public class ProductStreamReader {
+
+    // one reader for every call (ObjectReader is immutable and thread-safe)
+    private static final ObjectReader PRODUCT_READER = Json.reader(Product.class);
+
+    private final AsyncTransport transport;
+
+    public ProductStreamReader() {
+        this(ApiConfig.asyncTransport());
+    }
+
+    public ProductStreamReader(AsyncTransport transport) {
+        this.transport = transport;
+    }
+
+    // envelope of a streamed listing; the products themselves went to the consumer
+    public record Listing(int total, int skip, int limit, int emitted) {
+    }
+
+    // GET /products?limit=0 → every product
+    public Listing readAllProducts(Consumer<Product> sink, String... select) {
+        return read("/products", query(Map.of("limit", 0), select), sink);
+    }
+
+    // GET /products/search?q={query}&limit=0
+    public Listing searchProductsByName(String query, Consumer<Product> sink, String... select) {
+        return read("/products/search", query(Map.of("q", query, "limit", 0), select), sink);
+    }
+
+    // GET /products/category/{category}?limit=0
+    public Listing getProductsByCategory(String category, Consumer<Product> sink, String... select) {
+        return read("/products/category/" + pathSegment(category), query(Map.of("limit", 0), select), sink);
+    }
+
+    private Listing read(String path, Map<String, Object> query, Consumer<Product> sink) {
+        HttpResponse<InputStream> response = transport.openStream(path, query);
+        try (InputStream body = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("GET " + path + " returned " + response.statusCode() + ": "
+                        + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return parse(body, sink);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + path, e);
+        }
+    }
+
+    // {"products":[{...},{...}],"total":194,"skip":0,"limit":194} in any field order
+    static Listing parse(InputStream body, Consumer<Product> sink) throws IOException {
+        int total = 0, skip = 0, limit = 0, emitted = 0;
+        try (JsonParser parser = Json.mapper().getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object, got " + parser.currentToken());
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "products" -> {
+                        if (value != JsonToken.START_ARRAY) {
+                            throw new IOException("Expected products to be an array, got " + value);
+                        }
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            sink.accept(PRODUCT_READER.readValue(parser));
+                            emitted++;
+                        }
+                    }
+                    case "total" -> total = parser.getIntValue();
+                    case "skip" -> skip = parser.getIntValue();
+                    case "limit" -> limit = parser.getIntValue();
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new Listing(total, skip, limit, emitted);
+    }
+
+    private static Map<String, Object> query(Map<String, Object> base, String... select) {
+        Map<String, Object> query = new LinkedHashMap<>(base);
+        query.put("select", select.length > 0 ? String.join(",", select) : Product.SELECT);
+        return query;
+    }
+}
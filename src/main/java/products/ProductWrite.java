@@ -0,0 +1,27 @@
+package products;
+
+// One operation for ProductsClient.bulkWrite. Updates and deletes carry the product id they touch;
+// operations on the same id run in the order they were submitted.
+public sealed interface ProductWrite permits ProductWrite.Create, ProductWrite.Update, ProductWrite.Delete {
+
+    static ProductWrite create(Product product) {
+        return new Create(product);
+    }
+
+    static ProductWrite update(int id, UpdateProductRequest request) {
+        return new Update(id, request);
+    }
+
+    static ProductWrite delete(int id) {
+        return new Delete(id);
+    }
+
+    // POST /products/add
+    record Create(Product product) implements ProductWrite {}
+
+    // PUT /products/{id}
+    record Update(int id, UpdateProductRequest request) implements ProductWrite {}
+
+    // DELETE /products/{id}
+    record Delete(int id) implements ProductWrite {}
+}
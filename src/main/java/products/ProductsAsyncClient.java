@@ -0,0 +1,61 @@
+package products;
+
+import config.ApiConfig;
+import config.AsyncTransport;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static config.AsyncTransport.pathSegment;
+
+// Non-blocking twin of ProductsClient: same endpoints, same POJOs, CompletableFuture results.
+public class ProductsAsyncClient {
+
+    // reads only ask for the fields Product maps, as in ProductsClient
+    private static final Map<String, String> SELECT = Map.of("select", Product.SELECT);
+
+    private final AsyncTransport transport;
+
+    public ProductsAsyncClient() {
+        this(ApiConfig.asyncTransport());
+    }
+
+    public ProductsAsyncClient(AsyncTransport transport) {
+        this.transport = transport;
+    }
+
+    // GET /products
+    public CompletableFuture<ProductsResponse> getAllProducts() {
+        return transport.send("GET", "/products", SELECT, Map.of(), null, ProductsResponse.class);
+    }
+
+    // GET /products/{id}
+    public CompletableFuture<Product> getProductById(int id) {
+        return transport.send("GET", "/products/" + id, SELECT, Map.of(), null, Product.class);
+    }
+
+    // GET /products/search?q={query}
+    public CompletableFuture<ProductsResponse> searchProductsByName(String query) {
+        return transport.send("GET", "/products/search", Map.of("q", query, "select", Product.SELECT), Map.of(), null, ProductsResponse.class);
+    }
+
+    // GET /products/category/{category}
+    public CompletableFuture<ProductsResponse> getProductsByCategory(String category) {
+        return transport.send("GET", "/products/category/" + pathSegment(category), SELECT, Map.of(), null, ProductsResponse.class);
+    }
+
+    // POST /products/add
+    public CompletableFuture<Product> addProduct(Product product) {
+        return transport.send("POST", "/products/add", Map.of(), Map.of(), product, Product.class);
+    }
+
+    // PUT /products/{id}
+    public CompletableFuture<Product> updateProduct(int id, UpdateProductRequest request) {
+        return transport.send("PUT", "/products/" + id, Map.of(), Map.of(), request, Product.class);
+    }
+
+    // DELETE /products/{id}
+    public CompletableFuture<Product> deleteProduct(int id) {
+        return transport.send("DELETE", "/products/" + id, Map.of(), Map.of(), null, Product.class);
+    }
+}
@@ -1,92 +1,347 @@
 package products;
 
-import io.restassured.RestAssured;
-import io.restassured.http.ContentType;
+import cache.CacheStats;
+import cache.ReadThroughCache;
+import config.ApiConfig;
+import config.Compression;
+import config.Json;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import resilience.Resilience;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 import static io.restassured.RestAssured.given;
 
 
 public class ProductsClient {
 
+    private final RequestSpecification spec;   // base URI, JSON content type, shared transport
+    private final ReadThroughCache cache;      // null = every read goes to the network
+    private final Resilience resilience;       // retries / hedging / circuit breaker per endpoint
+    private final ProductIndex index;          // null = search and category go to the server
+
+    private static final int DEFAULT_BATCH_CONCURRENCY = 16;
+
+    public ProductsClient() {
+        this(ApiConfig.requestSpec());
+    }
+
+    // spec is never modified, so one ProductsClient can be shared across threads
+    public ProductsClient(RequestSpecification spec) {
+        this(spec, null);
+    }
+
+    // reads by id / search / category go through the cache; writes invalidate what they touch
+    public ProductsClient(RequestSpecification spec, ReadThroughCache cache) {
+        this(spec, cache, ApiConfig.resilience());
+    }
+
+    public ProductsClient(RequestSpecification spec, ReadThroughCache cache, Resilience resilience) {
+        this(spec, cache, resilience, null);
+    }
+
+    private ProductsClient(RequestSpecification spec, ReadThroughCache cache, Resilience resilience, ProductIndex index) {
+        this.spec = spec;
+        this.cache = cache;
+        this.resilience = resilience;
+        this.index = index;
+    }
+
+    // Opt-in: snapshots the whole catalogue now and returns a client whose searchProductsByName and
+    // getProductsByCategory answer from a local ProductIndex, resynced every resyncInterval.
+    // Everything else still goes to the server; close localIndex() when done.
+    public ProductsClient withLocalIndex(Duration resyncInterval) {
+        return new ProductsClient(spec, cache, resilience, ProductIndex.load(this, resyncInterval));
+    }
+
+    // null unless created by withLocalIndex
+    public ProductIndex localIndex() {
+        return index;
+    }
+
     // GET /products → returns list of products
     public ProductsResponse getAllProducts() {
 
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)      // request will use JSON
+        return send("GET", "/products", () -> read()
                 .when()
-                .get("/products")                   // endpoint: GET /products
+                .get("/products"))                  // endpoint: GET /products
                 .as(ProductsResponse.class);        // deserialization into POJO
     }
 
+    // GET /products?skip={skip}&limit={limit}&select={fields} → one page (limit=0 means everything);
+    // without select the server returns the fields Product maps
+    public ProductsResponse getProducts(int skip, int limit, String... select) {
+        return send("GET", "/products", () -> given(spec)
+                .queryParam("skip", skip)
+                .queryParam("limit", limit)
+                .queryParam("select", select.length > 0 ? String.join(",", select) : Product.SELECT)
+                .when()
+                .get("/products"))
+                .as(ProductsResponse.class);
+    }
+
+    // Whole catalogue, fetched lazily page by page; the next page is prefetched while the current one
+    // is consumed. Close the stream (or read it to the end) to release the prefetch.
+    public Stream<Product> streamAllProducts(int pageSize, String... select) {
+        ProductPageIterator pages = pageIterator(pageSize, select);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::close);
+    }
+
+    public Iterator<Product> iterateAllProducts(int pageSize, String... select) {
+        return pageIterator(pageSize, select);
+    }
+
+    private ProductPageIterator pageIterator(int pageSize, String... select) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be > 0, was " + pageSize);
+        }
+        return new ProductPageIterator(skip -> getProducts(skip, pageSize, select), ApiConfig.executor());
+    }
+
     // GET /products/{id} → returns single product by ID
     public Product getProductById(int id) {
+        if (cache != null) {
+            return cached("/products/{id}", "/products/" + id,
+                    etag -> send("GET", "/products/{id}", () -> conditional(etag).pathParam("id", id).get("/products/{id}")), Product.class);
+        }
 
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)       // request uses JSON
+        return send("GET", "/products/{id}", () -> read()
                 .pathParam("id", id)
                 .when()
-                .get("/products/{id}")              // endpoint: GET /products/{id}
+                .get("/products/{id}"))             // endpoint: GET /products/{id}
                 .as(Product.class);                  // deserialization into POJO
     }
 
+    // Many GET /products/{id} calls at once: duplicates are fetched once, at most maxConcurrency
+    // requests are in flight (the caller blocks until a slot frees up) and cached ids are served
+    // locally. The map follows the order of first appearance in ids; a failing id is reported in
+    // its ProductLookup instead of failing the whole batch.
+    public Map<Integer, ProductLookup> getProductsByIds(Collection<Integer> ids) {
+        return getProductsByIds(ids, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public Map<Integer, ProductLookup> getProductsByIds(Collection<Integer> ids, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be > 0, was " + maxConcurrency);
+        }
+        Semaphore slots = new Semaphore(maxConcurrency);
+        Map<Integer, CompletableFuture<ProductLookup>> pending = new LinkedHashMap<>();
+
+        for (int id : new LinkedHashSet<>(ids)) {
+            slots.acquireUninterruptibly();   // backpressure: never more than maxConcurrency in flight
+            pending.put(id, CompletableFuture.supplyAsync(() -> {
+                try {
+                    return ProductLookup.found(id, requireProduct(id));
+                } catch (RuntimeException e) {
+                    return ProductLookup.failed(id, e);
+                } finally {
+                    slots.release();
+                }
+            }, ApiConfig.executor()));
+        }
+
+        Map<Integer, ProductLookup> results = new LinkedHashMap<>();
+        pending.forEach((id, lookup) -> results.put(id, join(id, lookup)));
+        return results;
+    }
+
     // GET /products/search?q={query} → returns list of matched products
     public ProductsResponse searchProductsByName(String query) {
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
+        if (index != null) {
+            return index.search(query);
+        }
+        if (cache != null) {
+            return cached("/products/search", "/products/search?q=" + keyPart(query),
+                    etag -> send("GET", "/products/search", () -> conditional(etag).queryParam("q", query).get("/products/search")), ProductsResponse.class);
+        }
+        return send("GET", "/products/search", () -> read()
                 .queryParam("q", query)
                 .when()
-                .get("/products/search")
+                .get("/products/search"))
                 .as(ProductsResponse.class);
     }
 
     // GET /products/category/{category}
     public ProductsResponse getProductsByCategory(String category) {
+        if (index != null) {
+            return index.byCategory(category);
+        }
+        if (cache != null) {
+            return cached("/products/category/{category}", "/products/category/" + keyPart(category),
+                    etag -> send("GET", "/products/category/{category}",
+                            () -> conditional(etag).pathParam("category", category).get("/products/category/{category}")), ProductsResponse.class);
+        }
 
-        return RestAssured
-                .given()
+        return send("GET", "/products/category/{category}", () -> read()
                 .pathParam("category", category)
-                .contentType(ContentType.JSON)
                 .when()
-                .get("/products/category/{category}")
+                .get("/products/category/{category}"))
                 .as(ProductsResponse.class);
     }
 
     // POST /products/add - create a product
     public Product addProduct(Product product) {
 
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
-                .body(product)
-                .when()
-                .post("/products/add")
-                .as(Product.class);
+        return add(product).as(Product.class);
     }
 
 
     // PUT /products/{id} - update a product
     public Product updateProduct(int id, UpdateProductRequest request) {
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
-                .pathParam("id", id)
-                .body(request)
-                .when()
-                .put("/products/{id}")
-                .as(Product.class);
+        return update(id, request).as(Product.class);
     }
 
 
     // DELETE /products/{id} - delete a product
     public Product deleteProduct(int id) {
-        return RestAssured
-                .given()
-                .contentType(ContentType.JSON)
+        return delete(id).as(Product.class);
+    }
+
+    // Many creates / updates / deletes at once, at most maxConcurrency in flight; operations on the
+    // same product id keep their submission order. A failing operation is reported in the result
+    // instead of stopping the rest. The stream is consumed lazily.
+    public BulkWriteResult bulkWrite(Stream<ProductWrite> writes) {
+        return bulkWrite(writes, DEFAULT_BATCH_CONCURRENCY);
+    }
+
+    public BulkWriteResult bulkWrite(Stream<ProductWrite> writes, int maxConcurrency) {
+        BulkWriter writer = new BulkWriter(this::write, ApiConfig.executor(), maxConcurrency);
+        try (writes) {
+            return writer.run(writes.iterator());
+        }
+    }
+
+    // hit/miss/revalidation counters, or null when the client has no cache
+    public CacheStats cacheStats() {
+        return cache == null ? null : cache.stats();
+    }
+
+    // like getProductById, but a non-200 answer is an error instead of an empty Product
+    private Product requireProduct(int id) {
+        int status;
+        byte[] body;
+        if (cache != null) {
+            ReadThroughCache.Result result = cache.get("/products/{id}", "/products/" + id,
+                    etag -> send("GET", "/products/{id}", () -> conditional(etag).pathParam("id", id).get("/products/{id}")));
+            status = result.statusCode();
+            body = result.body();
+        } else {
+            Response response = send("GET", "/products/{id}", () -> read().pathParam("id", id).get("/products/{id}"));
+            status = response.statusCode();
+            body = response.asByteArray();
+        }
+        if (status != 200) {
+            throw new IllegalStateException("GET /products/" + id + " returned " + status + ": "
+                    + new String(body, StandardCharsets.UTF_8));
+        }
+        return Json.read(body, Product.class);
+    }
+
+    private static ProductLookup join(int id, CompletableFuture<ProductLookup> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            return ProductLookup.failed(id, e.getCause() instanceof RuntimeException re ? re : e);
+        }
+    }
+
+    // ===== WRITES =====
+
+    private Response write(ProductWrite write) {
+        if (write instanceof ProductWrite.Create create) {
+            return add(create.product());
+        }
+        if (write instanceof ProductWrite.Update update) {
+            return update(update.id(), update.request());
+        }
+        return delete(((ProductWrite.Delete) write).id());
+    }
+
+    private Response add(Product product) {
+        Response response = send("POST", "/products/add", () -> Compression.jsonBody(given(spec), product)
+                .when()
+                .post("/products/add"));
+        invalidateListings();
+        return response;
+    }
+
+    private Response update(int id, UpdateProductRequest request) {
+        Response response = send("PUT", "/products/{id}", () -> Compression.jsonBody(given(spec), request)
                 .pathParam("id", id)
                 .when()
-                .delete("/products/{id}")
-                .as(Product.class);
+                .put("/products/{id}"));
+        invalidate(id);
+        return response;
+    }
+
+    private Response delete(int id) {
+        Response response = send("DELETE", "/products/{id}", () -> given(spec)
+                .pathParam("id", id)
+                .when()
+                .delete("/products/{id}"));
+        invalidate(id);
+        return response;
+    }
+
+    // ===== CACHE =====
+
+    private <T> T cached(String endpoint, String key, Function<String, Response> fetch, Class<T> type) {
+        return Json.read(cache.get(endpoint, key, fetch).body(), type);
+    }
+
+    // user input in a cache key is URL-encoded, so "a&b" or "a/b" can never collide with another key
+    private static String keyPart(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // one logical call: may be retried or hedged (GETs only) or rejected by the circuit breaker
+    private Response send(String method, String template, Supplier<Response> request) {
+        return resilience.execute(method, template, request);
+    }
+
+    // every read asks only for the fields Product maps: fewer bytes on the wire and nothing to skip when parsing
+    private RequestSpecification read() {
+        return given(spec).queryParam("select", Product.SELECT);
+    }
+
+    private RequestSpecification conditional(String etag) {
+        RequestSpecification request = read();
+        return etag == null ? request : request.header("If-None-Match", etag);
+    }
+
+    private void invalidate(int id) {
+        if (cache != null) {
+            cache.invalidate("/products/" + id);
+        }
+        invalidateListings();
+    }
+
+    // any write can change what a search or category listing returns
+    private void invalidateListings() {
+        if (index != null) {
+            index.resyncSoon();
+        }
+        if (cache != null) {
+            cache.invalidatePrefix("/products/search");
+            cache.invalidatePrefix("/products/category/");
+        }
     }
 }
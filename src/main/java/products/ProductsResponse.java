@@ -1,45 +1,9 @@
 package products;
 
-import java.util.List;
-
-public class ProductsResponse {
-
-    private List <Product> products;
-    private int total;
-    private int skip;
-    private int limit;
-
-    public ProductsResponse(){};
-
-    public List<Product> getProducts() {
-        return products;
-    }
-
-    public void setProducts(List<Product> products) {
-        this.products = products;
-    }
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
-    public int getTotal() {
-        return total;
-    }
-
-    public void setTotal(int total) {
-        this.total = total;
-    }
-
-    public int getSkip() {
-        return skip;
-    }
-
-    public void setSkip(int skip) {
-        this.skip = skip;
-    }
-
-    public int getLimit() {
-        return limit;
-    }
+import java.util.List;
 
-    public void setLimit(int limit) {
-        this.limit = limit;
-    }
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ProductsResponse(List<Product> products, int total, int skip, int limit) {
 }
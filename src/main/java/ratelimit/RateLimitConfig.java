@@ -0,0 +1,48 @@
+package ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Limits for one base URI.
+//   permitsPerSecond  token bucket rate, 0 = unlimited until the first 429
+//   burst             bucket size
+//   maxInFlight       requests outstanding at once, across every client using the base URI
+//   endpointRates     extra per-endpoint buckets, keyed like "GET /products/search"
+//   minRate / maxRate AIMD bounds (maxRate 0 = no upper bound); a 429 multiplies the rate by
+//   decreaseFactor, each success adds increaseStep / rate (≈ +increaseStep req/s per second)
+public record RateLimitConfig(double permitsPerSecond, int burst, int maxInFlight, Map<String, Double> endpointRates,
+                              double minRate, double maxRate, double decreaseFactor, double increaseStep) {
+
+    public RateLimitConfig {
+        endpointRates = Map.copyOf(endpointRates);
+        if (maxInFlight < 1 || decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("Invalid rate limit: maxInFlight=" + maxInFlight
+                    + ", decreaseFactor=" + decreaseFactor);
+        }
+    }
+
+    public static RateLimitConfig unlimited() {
+        return new RateLimitConfig(0, 1, Integer.MAX_VALUE, Map.of(), 1, 0, 0.5, 1);
+    }
+
+    // -Dapi.rateLimit.rps=0 (unlimited) -Dapi.rateLimit.burst=10 -Dapi.rateLimit.maxInFlight=64
+    // -Dapi.rateLimit.minRps=1 -Dapi.rateLimit.maxRps=0
+    public static RateLimitConfig fromSystemProperties() {
+        return new RateLimitConfig(
+                Double.parseDouble(System.getProperty("api.rateLimit.rps", "0")),
+                Integer.getInteger("api.rateLimit.burst", 10),
+                Integer.getInteger("api.rateLimit.maxInFlight", 64),
+                Map.of(),
+                Double.parseDouble(System.getProperty("api.rateLimit.minRps", "1")),
+                Double.parseDouble(System.getProperty("api.rateLimit.maxRps", "0")),
+                0.5,
+                1);
+    }
+
+    public RateLimitConfig withEndpointRate(String endpoint, double permitsPerSecond) {
+        Map<String, Double> rates = new HashMap<>(endpointRates);
+        rates.put(endpoint, permitsPerSecond);
+        return new RateLimitConfig(this.permitsPerSecond, burst, maxInFlight, rates, minRate, maxRate,
+                decreaseFactor, increaseStep);
+    }
+}
@@ -0,0 +1,33 @@
+package ratelimit;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// Waits for the backend's RequestGovernor before sending and feeds it the response status.
+// Ordered before MetricsFilter, so time spent waiting here is not counted as endpoint latency.
+public class RateLimitFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestGovernor governor = RateLimiters.forBaseUri(requestSpec.getURI());
+        String endpoint = requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+        governor.acquire(endpoint);
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            governor.onResponse(endpoint, response.getStatusCode(), response.getHeader("Retry-After"));
+            return response;
+        } finally {
+            governor.release();
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return DEFAULT_PRECEDENCE;
+    }
+}
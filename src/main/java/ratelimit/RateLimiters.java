@@ -0,0 +1,40 @@
+package ratelimit;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One RequestGovernor per backend (scheme://host:port), shared by every client in the JVM, so parallel
+// test classes or load workers pace themselves together. Unconfigured backends get the defaults from
+// system properties (unlimited rate, 64 in flight).
+public final class RateLimiters {
+
+    private static final RateLimitConfig DEFAULTS = RateLimitConfig.fromSystemProperties();
+    private static final Map<String, RateLimitConfig> CONFIGS = new ConcurrentHashMap<>();
+    private static final Map<String, RequestGovernor> GOVERNORS = new ConcurrentHashMap<>();
+    private static final RateLimitFilter FILTER = new RateLimitFilter();
+
+    private RateLimiters() {}
+
+    public static RateLimitFilter filter() {
+        return FILTER;
+    }
+
+    // takes effect for requests started afterwards; replaces the backend's current governor
+    public static void configure(String baseUri, RateLimitConfig config) {
+        String key = key(baseUri);
+        CONFIGS.put(key, config);
+        GOVERNORS.put(key, new RequestGovernor(config));
+    }
+
+    public static RequestGovernor forBaseUri(String uri) {
+        String key = key(uri);
+        return GOVERNORS.computeIfAbsent(key, k -> new RequestGovernor(CONFIGS.getOrDefault(k, DEFAULTS)));
+    }
+
+    private static String key(String uri) {
+        URI parsed = URI.create(uri);
+        int port = parsed.getPort() != -1 ? parsed.getPort() : "https".equalsIgnoreCase(parsed.getScheme()) ? 443 : 80;
+        return parsed.getScheme() + "://" + parsed.getHost() + ":" + port;
+    }
+}
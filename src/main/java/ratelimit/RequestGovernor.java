@@ -0,0 +1,126 @@
+package ratelimit;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Paces every request to one base URI: a max-in-flight semaphore, a shared token bucket and optional
+// per-endpoint buckets. 429 responses pause the buckets for Retry-After and halve their rate (AIMD);
+// successful responses let the rate creep back up.
+public final class RequestGovernor {
+
+    private final RateLimitConfig config;
+    private final Semaphore inFlight;
+    private final TokenBucket bucket;
+    private final Map<String, TokenBucket> endpointBuckets = new ConcurrentHashMap<>();
+
+    RequestGovernor(RateLimitConfig config) {
+        this.config = config;
+        this.inFlight = new Semaphore(config.maxInFlight(), true);
+        this.bucket = newBucket(config.permitsPerSecond());
+    }
+
+    public RateLimitConfig config() {
+        return config;
+    }
+
+    // current rate of the base URI bucket, 0 = unlimited
+    public double rate() {
+        return bucket.rate();
+    }
+
+    public double rate(String endpoint) {
+        TokenBucket endpointBucket = endpointBucket(endpoint);
+        return endpointBucket == null ? rate() : endpointBucket.rate();
+    }
+
+    public int availableSlots() {
+        return inFlight.availablePermits();
+    }
+
+    // blocks until the request may be sent; pair every call with release()
+    public void acquire(String endpoint) {
+        inFlight.acquireUninterruptibly();
+        try {
+            long wait = bucket.reserve();
+            TokenBucket endpointBucket = endpointBucket(endpoint);
+            if (endpointBucket != null) {
+                wait = Math.max(wait, endpointBucket.reserve());
+            }
+            park(wait);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    public void release() {
+        inFlight.release();
+    }
+
+    // statusCode + Retry-After header value (may be null) of the response
+    public void onResponse(String endpoint, int statusCode, String retryAfter) {
+        TokenBucket endpointBucket = endpointBucket(endpoint);
+        if (statusCode == 429) {
+            long pause = retryAfterNanos(retryAfter);
+            throttle(bucket, pause);
+            if (endpointBucket != null) {
+                throttle(endpointBucket, pause);
+            }
+        } else if (statusCode < 500) {
+            bucket.increase(config.increaseStep());
+            if (endpointBucket != null) {
+                endpointBucket.increase(config.increaseStep());
+            }
+        }
+    }
+
+    // Retry-After: delta-seconds or an HTTP-date; 0 when absent or unreadable
+    static long retryAfterNanos(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(trimmed)));
+        } catch (NumberFormatException e) {
+            // not a number: try the date form
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toNanos());
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+
+    private void throttle(TokenBucket throttled, long pauseNanos) {
+        if (pauseNanos > 0) {
+            throttled.pauseFor(pauseNanos);
+        }
+        throttled.decrease(config.decreaseFactor());
+    }
+
+    private TokenBucket endpointBucket(String endpoint) {
+        Double rate = config.endpointRates().get(endpoint);
+        return rate == null ? null : endpointBuckets.computeIfAbsent(endpoint, key -> newBucket(rate));
+    }
+
+    private TokenBucket newBucket(double rate) {
+        return new TokenBucket(rate, config.burst(), config.minRate(), config.maxRate());
+    }
+
+    private static void park(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ratelimit;
+
+import java.util.concurrent.TimeUnit;
+
+// Token bucket whose rate can change at run time (AIMD) and which can be paused (Retry-After).
+// acquire() reserves a token and returns how long the caller has to wait for it; the wait happens
+// outside the lock, so a slow caller never holds up the others' reservations.
+// rate 0 = unlimited: tokens are not counted, but the achieved rate is still measured so that a
+// first 429 has something to back off from.
+final class TokenBucket {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final int burst;
+    private final double minRate;
+    private final double maxRate;
+
+    private double rate;            // permits per second, 0 = unlimited
+    private double tokens;          // may go negative: reservations not yet due
+    private long lastRefill = System.nanoTime();
+    private long pausedUntil = lastRefill;
+
+    // achieved rate over the last full second, for the unlimited -> limited switch
+    private long windowStart = lastRefill;
+    private int windowCount;
+    private double observedRate;
+
+    TokenBucket(double rate, int burst, double minRate, double maxRate) {
+        this.rate = rate;
+        this.burst = Math.max(1, burst);
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.tokens = this.burst;
+    }
+
+    // nanoseconds to wait before sending
+    synchronized long reserve() {
+        long now = System.nanoTime();
+        count(now);
+        long pause = Math.max(0, pausedUntil - now);
+        if (rate <= 0) {
+            return pause;
+        }
+        refill(now);
+        tokens -= 1;
+        long wait = tokens >= 0 ? 0 : (long) (-tokens / rate * SECOND);
+        return Math.max(wait, pause);
+    }
+
+    // nobody sends before now + delay (Retry-After)
+    synchronized void pauseFor(long delayNanos) {
+        long until = System.nanoTime() + delayNanos;
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+    }
+
+    // multiplicative decrease on 429
+    synchronized void decrease(double factor) {
+        double base = rate > 0 ? rate : Math.max(observedRate, windowCount);
+        refill(System.nanoTime());
+        rate = Math.max(minRate, base * factor);
+        tokens = Math.min(tokens, 0);   // no burst right after being told to slow down
+    }
+
+    // additive increase: +step per second of traffic at the current rate, i.e. step / rate per success
+    synchronized void increase(double step) {
+        if (rate <= 0) {
+            return;
+        }
+        refill(System.nanoTime());
+        double next = rate + step / rate;
+        rate = maxRate > 0 ? Math.min(maxRate, next) : next;
+    }
+
+    synchronized double rate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * rate / SECOND);
+        lastRefill = now;
+    }
+
+    private void count(long now) {
+        if (now - windowStart >= SECOND) {
+            observedRate = windowCount * (double) SECOND / (now - windowStart);
+            windowStart = now;
+            windowCount = 0;
+        }
+        windowCount++;
+    }
+}
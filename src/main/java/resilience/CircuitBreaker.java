@@ -0,0 +1,112 @@
+package resilience;
+
+import java.time.Duration;
+
+// Count-based circuit breaker. CLOSED: the outcome of the last windowSize calls is kept, and once at least
+// minimumCalls are in the window a failure rate >= failureRatePercent opens the circuit. OPEN: every call
+// is rejected for openDuration. HALF_OPEN: halfOpenCalls probes are let through; all succeeding closes
+// the circuit, any failing opens it again.
+// Calls are milliseconds apart at best, so a plain monitor is cheap enough here.
+public final class CircuitBreaker {
+
+    public record Config(int failureRatePercent, int windowSize, int minimumCalls, Duration openDuration,
+                         int halfOpenCalls) {
+
+        public static Config disabled() {
+            return new Config(101, 1, Integer.MAX_VALUE, Duration.ZERO, 1);
+        }
+    }
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Config config;
+    private final boolean[] window;   // true = failure, ring buffer over the last windowSize calls
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openUntilNanos;
+    private int probesLeft;
+    private int probeSuccesses;
+
+    public CircuitBreaker(Config config) {
+        this.config = config;
+        this.window = new boolean[Math.max(1, config.windowSize())];
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    // false = fail fast; true = go ahead and report the outcome with onSuccess / onFailure / release
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openUntilNanos < 0) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesLeft = config.halfOpenCalls();
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesLeft == 0) {
+                return false;
+            }
+            probesLeft--;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probeSuccesses >= config.halfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    // the call ended without telling anything about the backend: no outcome is recorded, and a
+    // half-open probe goes back so the next call can probe instead
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && probesLeft < config.halfOpenCalls()) {
+            probesLeft++;
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (calls >= config.minimumCalls() && failures * 100 >= config.failureRatePercent() * calls) {
+            open();
+        }
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            failures -= window[next] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntilNanos = System.nanoTime() + config.openDuration().toNanos();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        calls = 0;
+        failures = 0;
+        next = 0;
+    }
+}
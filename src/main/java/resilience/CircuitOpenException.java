@@ -0,0 +1,9 @@
+package resilience;
+
+// thrown instead of sending a request while the endpoint's circuit breaker is open
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(String endpoint) {
+        super("Circuit breaker open for " + endpoint + ", request not sent");
+    }
+}
@@ -0,0 +1,10 @@
+package resilience;
+
+// What Resilience applies to one endpoint. Retries and hedges are only ever used for idempotent
+// methods (GET, HEAD, OPTIONS); the circuit breaker applies to every method.
+public record EndpointPolicy(RetryPolicy retry, HedgePolicy hedge, CircuitBreaker.Config breaker) {
+
+    public static EndpointPolicy none() {
+        return new EndpointPolicy(RetryPolicy.none(), HedgePolicy.none(), CircuitBreaker.Config.disabled());
+    }
+}
@@ -0,0 +1,21 @@
+package resilience;
+
+import java.time.Duration;
+
+// Send a second copy of an idempotent request when the first has not answered within the endpoint's
+// observed latency percentile (never earlier than minDelay). No hedging until minSamples latencies
+// have been recorded for the endpoint, since the percentile would be meaningless.
+public record HedgePolicy(double percentile, Duration minDelay, long minSamples) {
+
+    public static HedgePolicy none() {
+        return new HedgePolicy(0, Duration.ZERO, 0);
+    }
+
+    public static HedgePolicy atPercentile(double percentile, Duration minDelay) {
+        return new HedgePolicy(percentile, minDelay, 100);
+    }
+
+    public boolean enabled() {
+        return percentile > 0;
+    }
+}
@@ -0,0 +1,264 @@
+package resilience;
+
+import io.restassured.response.Response;
+import metrics.ApiMetrics;
+import metrics.EndpointMetrics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Retries, hedging and circuit breaking around client calls, per "METHOD /path/{template}".
+// A call is a Supplier that sends one request, so every attempt goes through the spec's filters
+// (metrics record each attempt on its own). A failure is an I/O exception or a 5xx response; when all
+// attempts fail, the last 5xx response is returned as is, like a call without Resilience would.
+// A 429 is retried like a 5xx, idempotent methods only: one from a proxy may come after the write was
+// forwarded. A write gets its 429 back, and the RateLimitFilter on the spec slows the next calls down
+// (Retry-After, halved rate); for a GET it already holds the retry back until Retry-After has passed.
+public class Resilience {
+
+    private static final long HEDGE_THRESHOLD_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final EndpointPolicy defaults;
+    private final Map<String, EndpointPolicy> policies;
+    private final ApiMetrics metrics;
+    private final Executor executor;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, HedgeThreshold> hedgeThresholds = new ConcurrentHashMap<>();
+
+    // policies: overrides keyed by "GET /products/{id}"; everything else gets defaults
+    public Resilience(EndpointPolicy defaults, Map<String, EndpointPolicy> policies, ApiMetrics metrics, Executor executor) {
+        this.defaults = defaults;
+        this.policies = Map.copyOf(policies);
+        this.metrics = metrics;
+        this.executor = executor;
+    }
+
+    public static Resilience none() {
+        return new Resilience(EndpointPolicy.none(), Map.of(), ApiMetrics.global(), Runnable::run);
+    }
+
+    // -Dapi.retry.maxAttempts=3 -Dapi.retry.initialBackoffMs=100 -Dapi.retry.maxBackoffMs=2000
+    // -Dapi.hedge.percentile=0 (off; e.g. 95) -Dapi.hedge.minDelayMs=50
+    // -Dapi.breaker.failureRatePercent=50 -Dapi.breaker.window=20 -Dapi.breaker.minimumCalls=10 -Dapi.breaker.openMs=10000
+    public static Resilience fromSystemProperties(ApiMetrics metrics, Executor executor) {
+        RetryPolicy retry = RetryPolicy.exponential(
+                Integer.getInteger("api.retry.maxAttempts", 3),
+                Duration.ofMillis(Long.getLong("api.retry.initialBackoffMs", 100L)),
+                Duration.ofMillis(Long.getLong("api.retry.maxBackoffMs", 2_000L)));
+        HedgePolicy hedge = HedgePolicy.atPercentile(
+                Double.parseDouble(System.getProperty("api.hedge.percentile", "0")),
+                Duration.ofMillis(Long.getLong("api.hedge.minDelayMs", 50L)));
+        CircuitBreaker.Config breaker = new CircuitBreaker.Config(
+                Integer.getInteger("api.breaker.failureRatePercent", 50),
+                Integer.getInteger("api.breaker.window", 20),
+                Integer.getInteger("api.breaker.minimumCalls", 10),
+                Duration.ofMillis(Long.getLong("api.breaker.openMs", 10_000L)),
+                1);
+        return new Resilience(new EndpointPolicy(retry, hedge, breaker), Map.of(), metrics, executor);
+    }
+
+    public EndpointPolicy policy(String method, String template) {
+        return policies.getOrDefault(method + " " + template, defaults);
+    }
+
+    public CircuitBreaker.State breakerState(String method, String template) {
+        CircuitBreaker breaker = breakers.get(method + " " + template);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    public Response execute(String method, String template, Supplier<Response> call) {
+        String endpoint = method + " " + template;
+        EndpointPolicy policy = policy(method, template);
+        EndpointMetrics endpointMetrics = metrics.endpoint(method, template);
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, key -> new CircuitBreaker(policy.breaker()));
+        boolean idempotent = isIdempotent(method);
+        int maxAttempts = idempotent ? policy.retry().maxAttempts() : 1;
+
+        if (!breaker.tryAcquire()) {
+            endpointMetrics.recordShortCircuit();
+            throw new CircuitOpenException(endpoint);
+        }
+        // retries ask the breaker at the end of each failed attempt: if it opened in the meantime (possibly
+        // because of that very attempt), the caller gets the real 5xx / exception, not CircuitOpenException
+        for (int attempt = 1; ; attempt++) {
+            Response response;
+            try {
+                response = idempotent && policy.hedge().enabled()
+                        ? hedged(call, endpoint, policy.hedge(), endpointMetrics)
+                        : call.get();
+            } catch (Exception e) {   // RestAssured can throw IOExceptions undeclared; rethrown as they are
+                if (!isTransient(e)) {
+                    // a bug, a mapping error, an unrecorded cassette call: says nothing about the backend
+                    breaker.release();
+                    throw e;
+                }
+                breaker.onFailure();
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backoff(policy.retry(), attempt, endpointMetrics);
+                if (!admitRetry(breaker, endpointMetrics)) {
+                    throw e;
+                }
+                continue;
+            }
+            if (response.statusCode() == 429) {
+                breaker.onSuccess();   // the backend is up, just busy
+            } else if (response.statusCode() < 500) {
+                breaker.onSuccess();
+                return response;
+            } else {
+                breaker.onFailure();
+            }
+            if (attempt >= maxAttempts) {
+                return response;
+            }
+            backoff(policy.retry(), attempt, endpointMetrics);
+            if (!admitRetry(breaker, endpointMetrics)) {
+                return response;
+            }
+        }
+    }
+
+    // ===== internals =====
+
+    private static boolean admitRetry(CircuitBreaker breaker, EndpointMetrics endpointMetrics) {
+        if (breaker.tryAcquire()) {
+            return true;
+        }
+        endpointMetrics.recordShortCircuit();
+        return false;
+    }
+
+    // The primary request gets the endpoint's latency percentile to answer; after that a second copy is
+    // sent and whichever returns a non-5xx response first wins. The loser is left to finish on its own
+    // (its entity is buffered by the transport, so the connection goes back to the pool).
+    private Response hedged(Supplier<Response> call, String endpoint, HedgePolicy policy, EndpointMetrics endpointMetrics) {
+        long delayNanos = hedgeThresholds
+                .computeIfAbsent(endpoint, key -> new HedgeThreshold())
+                .delayNanos(policy, endpointMetrics);
+        if (delayNanos < 0) {
+            return call.get();
+        }
+
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(call, executor);
+        try {
+            return primary.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // fall through to hedge
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + endpoint, e);
+        }
+
+        endpointMetrics.recordHedge();
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(call, executor);
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger pending = new AtomicInteger(2);
+        AtomicBoolean decided = new AtomicBoolean();
+        primary.whenComplete((response, error) -> complete(winner, decided, pending, response, error, null));
+        hedge.whenComplete((response, error) -> complete(winner, decided, pending, response, error, endpointMetrics));
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    // first good response wins; if both fail, the one that finished last decides the outcome
+    // (the win is counted before the caller is released, so its metrics are already up to date)
+    private static void complete(CompletableFuture<Response> winner, AtomicBoolean decided, AtomicInteger pending,
+                                 Response response, Throwable error, EndpointMetrics hedgeWinMetrics) {
+        boolean good = error == null && response.statusCode() < 500;
+        if (good && decided.compareAndSet(false, true)) {
+            if (hedgeWinMetrics != null) {
+                hedgeWinMetrics.recordHedgeWin();
+            }
+            winner.complete(response);
+            return;
+        }
+        if (pending.decrementAndGet() == 0 && decided.compareAndSet(false, true)) {
+            if (error != null) {
+                winner.completeExceptionally(error);
+            } else {
+                winner.complete(response);
+            }
+        }
+    }
+
+    private static void backoff(RetryPolicy retry, int attempt, EndpointMetrics endpointMetrics) {
+        endpointMetrics.recordRetry();
+        long millis = retry.backoffMillis(attempt);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during retry backoff", e);
+        }
+    }
+
+    private static boolean isIdempotent(String method) {
+        return method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS");
+    }
+
+    // timeouts, resets, refused connections; RestAssured rethrows IOExceptions unchecked or wrapped
+    private static boolean isTransient(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException re) {
+            return re;
+        }
+        if (cause instanceof IOException io) {
+            return new UncheckedIOException(io);
+        }
+        return new IllegalStateException(cause);
+    }
+
+    // the percentile is read from the endpoint's histogram at most once a second
+    private static final class HedgeThreshold {
+
+        private volatile long delayNanos = -1;
+        private volatile long computedAt = System.nanoTime() - HEDGE_THRESHOLD_REFRESH_NANOS;
+
+        // -1 = not enough samples yet, do not hedge
+        long delayNanos(HedgePolicy policy, EndpointMetrics endpointMetrics) {
+            long now = System.nanoTime();
+            if (now - computedAt >= HEDGE_THRESHOLD_REFRESH_NANOS) {
+                computedAt = now;
+                if (endpointMetrics.requests() < policy.minSamples()) {
+                    delayNanos = -1;
+                } else {
+                    long percentileNanos = TimeUnit.MICROSECONDS.toNanos(
+                            endpointMetrics.latencyMicros().getValueAtPercentile(policy.percentile()));
+                    delayNanos = Math.max(policy.minDelay().toNanos(), percentileNanos);
+                }
+            }
+            return delayNanos;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Exponential backoff with full jitter: the wait before retry n is uniform in
+// [0, min(maxBackoff, initialBackoff * multiplier^(n-1))], so clients that failed together do not retry together.
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, double multiplier) {
+
+    public RetryPolicy {
+        if (maxAttempts < 1 || multiplier < 1) {
+            throw new IllegalArgumentException("Invalid retry policy: maxAttempts=" + maxAttempts
+                    + ", multiplier=" + multiplier);
+        }
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 1);
+    }
+
+    public static RetryPolicy exponential(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        return new RetryPolicy(maxAttempts, initialBackoff, maxBackoff, 2);
+    }
+
+    // retry = 1 for the first retry
+    long backoffMillis(int retry) {
+        double ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() * Math.pow(multiplier, retry - 1));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong((long) ceiling + 1);
+    }
+}
@@ -0,0 +1,519 @@
+package stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// In-process stand-in for https://dummyjson.com (auth + products endpoints).
+// Mutations behave like the real API: they are echoed back but never persisted.
+public class DummyJsonStub implements AutoCloseable {
+
+    private static final int DEFAULT_LIMIT = 30;
+    // like most servers, bodies smaller than this are not worth compressing
+    private static final int COMPRESSION_MIN_BYTES = 1024;
+    private static volatile DummyJsonStub shared;
+
+    static {
+        // without TCP_NODELAY small keep-alive responses stall on delayed ACKs (must be set before the first HttpServer)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final StubCatalogue catalogue;
+    private final StubAuth auth;
+    private final byte[][] productBytes;   // pre-serialized GET /products/{id} bodies
+    private final String[] productEtags;
+    // GET /products/{id}?select=... bodies, serialized on first use per select value
+    private final Map<String, AtomicReferenceArray<byte[]>> projectedBytes = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    private DummyJsonStub(int port, int threads, int catalogueSize) throws IOException {
+        catalogue = new StubCatalogue(mapper, catalogueSize);
+        auth = new StubAuth(mapper);
+
+        List<ObjectNode> products = catalogue.all();
+        productBytes = new byte[products.size()][];
+        productEtags = new String[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            productBytes[i] = mapper.writeValueAsBytes(products.get(i));
+            productEtags[i] = etag(productBytes[i]);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "dummyjson-stub-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 4096);
+        server.createContext("/", this::handle);
+        server.setExecutor(workers);
+    }
+
+    public static DummyJsonStub start(int port) {
+        return start(port, Integer.getInteger("stub.products", 0));
+    }
+
+    // catalogueSize <= 0 → the seed catalogue
+    public static DummyJsonStub start(int port, int catalogueSize) {
+        try {
+            DummyJsonStub stub = new DummyJsonStub(port,
+                    Integer.getInteger("stub.threads", Math.max(32, Runtime.getRuntime().availableProcessors() * 4)),
+                    catalogueSize);
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start DummyJSON stub", e);
+        }
+    }
+
+    // one stub per JVM on a random port, started lazily by ApiConfig
+    public static DummyJsonStub shared() {
+        if (shared == null) {
+            synchronized (DummyJsonStub.class) {
+                if (shared == null) {
+                    shared = startDaemon();
+                }
+            }
+        }
+        return shared;
+    }
+
+    public String baseUri() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // the request handler, for serving the same endpoints from another HTTP server (e.g. an HTTP/2 one)
+    public HttpHandler handler() {
+        return this::handle;
+    }
+
+    public int catalogueSize() {
+        return catalogue.all().size();
+    }
+
+    // requests this stub has answered, for tests that need to know which backend was called
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    // HttpServer's dispatcher thread inherits the daemon flag of the thread that starts it,
+    // so start it from a daemon thread to never keep a JVM alive just for the stub
+    private static DummyJsonStub startDaemon() {
+        DummyJsonStub[] holder = new DummyJsonStub[1];
+        RuntimeException[] failure = new RuntimeException[1];
+        Thread starter = new Thread(() -> {
+            try {
+                holder[0] = start(Integer.getInteger("stub.port", 0));
+            } catch (RuntimeException e) {
+                failure[0] = e;
+            }
+        }, "dummyjson-stub-starter");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting DummyJSON stub", e);
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        return holder[0];
+    }
+
+    // ===== ROUTING =====
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            String[] seg = path.replaceAll("^/+|/+$", "").split("/");
+
+            if (seg.length >= 2 && seg[0].equals("auth")) {
+                handleAuth(exchange, method, seg[1]);
+            } else if (seg[0].equals("products")) {
+                handleProducts(exchange, method, seg, query);
+            } else {
+                sendMessage(exchange, 404, "not found");
+            }
+        } catch (RuntimeException e) {
+            sendMessage(exchange, 500, String.valueOf(e.getMessage()));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleAuth(HttpExchange exchange, String method, String action) throws IOException {
+        switch (method + " " + action) {
+            case "POST login" -> login(exchange);
+            case "GET me" -> me(exchange);
+            case "POST refresh" -> refresh(exchange);
+            default -> sendMessage(exchange, 404, "not found");
+        }
+    }
+
+    private void handleProducts(HttpExchange exchange, String method, String[] seg, Map<String, String> query) throws IOException {
+        if (seg.length == 1 && method.equals("GET")) {
+            sendPage(exchange, catalogue.all(), query);
+        } else if (seg.length == 2 && seg[1].equals("search") && method.equals("GET")) {
+            sendPage(exchange, search(query.getOrDefault("q", "")), query);
+        } else if (seg.length == 3 && seg[1].equals("category") && method.equals("GET")) {
+            sendPage(exchange, byCategory(seg[2]), query);
+        } else if (seg.length == 2 && seg[1].equals("add") && method.equals("POST")) {
+            addProduct(exchange);
+        } else if (seg.length == 2) {
+            ObjectNode product = productOrNull(seg[1]);
+            if (product == null) {
+                sendMessage(exchange, 404, "Product with id '" + seg[1] + "' not found");
+                return;
+            }
+            switch (method) {
+                case "GET" -> sendProduct(exchange, product, query);
+                case "PUT", "PATCH" -> updateProduct(exchange, product);
+                case "DELETE" -> deleteProduct(exchange, product);
+                default -> sendMessage(exchange, 405, "method not allowed");
+            }
+        } else {
+            sendMessage(exchange, 404, "not found");
+        }
+    }
+
+    // ===== AUTH =====
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        String username = body.path("username").asText("");
+        String password = body.path("password").asText("");
+        if (username.isEmpty() || password.isEmpty()) {
+            sendMessage(exchange, 400, "Username and password required");
+            return;
+        }
+        ObjectNode user = auth.authenticate(username, password);
+        if (user == null) {
+            sendMessage(exchange, 400, "Invalid credentials");
+            return;
+        }
+        int expiresInMins = body.path("expiresInMins").asInt(60);
+        ObjectNode response = user.deepCopy();
+        response.put("accessToken", auth.accessToken(user, expiresInMins));
+        response.put("refreshToken", auth.refreshToken(user, expiresInMins));
+        send(exchange, 200, response);
+    }
+
+    private void me(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || header.isBlank()) {
+            sendMessage(exchange, 401, "Access Token is required");
+            return;
+        }
+        ObjectNode user = auth.verifyAccess(header.replaceFirst("(?i)^Bearer\\s*", ""));
+        if (user == null) {
+            sendMessage(exchange, 401, "Invalid/expired Token!");
+            return;
+        }
+        send(exchange, 200, user);
+    }
+
+    private void refresh(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        String refreshToken = body.path("refreshToken").asText("");
+        if (refreshToken.isEmpty()) {
+            sendMessage(exchange, 401, "Refresh token required");
+            return;
+        }
+        ObjectNode user = auth.verifyRefresh(refreshToken);
+        if (user == null) {
+            sendMessage(exchange, 403, "Invalid refresh token");
+            return;
+        }
+        int expiresInMins = body.path("expiresInMins").asInt(60);
+        ObjectNode response = mapper.createObjectNode();
+        response.put("accessToken", auth.accessToken(user, expiresInMins));
+        response.put("refreshToken", auth.refreshToken(user, expiresInMins));
+        send(exchange, 200, response);
+    }
+
+    // ===== PRODUCTS =====
+
+    private List<ObjectNode> search(String q) {
+        String needle = q.toLowerCase(Locale.ROOT);
+        List<ObjectNode> result = new ArrayList<>();
+        for (ObjectNode p : catalogue.all()) {
+            if (p.path("title").asText().toLowerCase(Locale.ROOT).contains(needle)
+                    || p.path("description").asText().toLowerCase(Locale.ROOT).contains(needle)) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    private List<ObjectNode> byCategory(String category) {
+        List<ObjectNode> result = new ArrayList<>();
+        for (ObjectNode p : catalogue.all()) {
+            if (p.path("category").asText().equals(category)) {
+                result.add(p);
+            }
+        }
+        return result;
+    }
+
+    private ObjectNode productOrNull(String id) {
+        try {
+            return catalogue.byId(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void sendProduct(HttpExchange exchange, ObjectNode product, Map<String, String> query) throws IOException {
+        String select = query.get("select");
+        int index = product.path("id").asInt() - 1;
+        if (select == null) {
+            sendCacheable(exchange, productBytes[index], productEtags[index]);
+        } else {
+            AtomicReferenceArray<byte[]> projected =
+                    projectedBytes.computeIfAbsent(select, s -> new AtomicReferenceArray<>(productBytes.length));
+            byte[] body = projected.get(index);
+            if (body == null) {
+                body = mapper.writeValueAsBytes(project(product, select));
+                projected.set(index, body);   // racing writers store equal bytes
+            }
+            sendCacheable(exchange, body, etag(body));
+        }
+    }
+
+    private void addProduct(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        ObjectNode created = mapper.createObjectNode();
+        if (body.isObject()) {
+            created.setAll((ObjectNode) body);
+        }
+        created.put("id", catalogue.all().size() + 1);
+        send(exchange, 201, created);
+    }
+
+    private void updateProduct(HttpExchange exchange, ObjectNode product) throws IOException {
+        JsonNode body = readBody(exchange);
+        if (body == null) {
+            return;
+        }
+        ObjectNode updated = product.deepCopy();
+        if (body.isObject()) {
+            updated.setAll((ObjectNode) body);
+        }
+        updated.put("id", product.path("id").asInt());
+        send(exchange, 200, updated);
+    }
+
+    private void deleteProduct(HttpExchange exchange, ObjectNode product) throws IOException {
+        ObjectNode deleted = product.deepCopy();
+        deleted.put("isDeleted", true);
+        deleted.put("deletedOn", Instant.now().toString());
+        send(exchange, 200, deleted);
+    }
+
+    // same envelope and paging rules as DummyJSON: limit=0 means "everything", limit echoes the page size
+    private void sendPage(HttpExchange exchange, List<ObjectNode> all, Map<String, String> query) throws IOException {
+        int skip = Math.max(0, intParam(query, "skip", 0));
+        int limit = Math.max(0, intParam(query, "limit", DEFAULT_LIMIT));
+        int from = Math.min(skip, all.size());
+        int to = limit == 0 ? all.size() : Math.min(all.size(), from + limit);
+        String select = query.get("select");
+
+        ObjectNode page = mapper.createObjectNode();
+        ArrayNode products = page.putArray("products");
+        for (ObjectNode p : all.subList(from, to)) {
+            products.add(select == null ? p : project(p, select));
+        }
+        page.put("total", all.size());
+        page.put("skip", skip);
+        page.put("limit", to - from);
+        byte[] body = mapper.writeValueAsBytes(page);
+        sendCacheable(exchange, body, etag(body));
+    }
+
+    // ?select=title,price → id + the listed fields
+    private ObjectNode project(ObjectNode product, String select) {
+        ObjectNode projected = mapper.createObjectNode();
+        projected.set("id", product.get("id"));
+        for (String field : select.split(",")) {
+            JsonNode value = product.get(field.trim());
+            if (value != null) {
+                projected.set(field.trim(), value);
+            }
+        }
+        return projected;
+    }
+
+    // ===== IO =====
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        byte[] raw;
+        try (InputStream in = decoded(exchange)) {
+            raw = in.readAllBytes();
+        } catch (IOException e) {
+            sendMessage(exchange, 400, "Invalid " + exchange.getRequestHeaders().getFirst("Content-Encoding") + " body");
+            return null;
+        }
+        if (raw.length == 0) {
+            return mapper.createObjectNode();
+        }
+        try {
+            return mapper.readTree(raw);
+        } catch (JsonProcessingException e) {
+            sendMessage(exchange, 400, "Invalid JSON body");
+            return null;
+        }
+    }
+
+    private void sendMessage(HttpExchange exchange, int status, String message) throws IOException {
+        ObjectNode body = mapper.createObjectNode();
+        body.put("message", message);
+        send(exchange, status, body);
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        send(exchange, status, mapper.writeValueAsBytes(body));
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+        String encoding = body.length >= COMPRESSION_MIN_BYTES ? negotiate(exchange) : null;
+        if (encoding != null) {
+            body = compress(body, encoding);
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // 200 with an ETag, or an empty 304 when the client already holds this exact body
+    private void sendCacheable(HttpExchange exchange, byte[] body, String etag) throws IOException {
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            // HttpServer closes the connection after a 304 without saying so; announce it, or a pooling
+            // client reuses the dead socket and its next request (a non-retryable POST, say) fails
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private static InputStream decoded(HttpExchange exchange) throws IOException {
+        InputStream body = exchange.getRequestBody();
+        String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+        if (encoding == null) {
+            return body;
+        }
+        return switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> throw new IOException("Unsupported Content-Encoding " + encoding);
+        };
+    }
+
+    // gzip if the client accepts it, else deflate, else none (q-values are not weighed)
+    private static String negotiate(HttpExchange exchange) {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (accepted == null) {
+            return null;
+        }
+        accepted = accepted.toLowerCase(Locale.ROOT);
+        return accepted.contains("gzip") ? "gzip" : accepted.contains("deflate") ? "deflate" : null;
+    }
+
+    private static byte[] compress(byte[] body, String encoding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream compressed = "gzip".equals(encoding) ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            compressed.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "W/\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int fallback) {
+        try {
+            String value = query.get(name);
+            return value == null ? fallback : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
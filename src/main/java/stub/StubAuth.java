@@ -0,0 +1,121 @@
+package stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Users + HS256 JWTs for the stub /auth endpoints.
+// Access and refresh tokens are signed with different keys so one can't be used as the other.
+class StubAuth {
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = B64.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper mapper;
+    private final Map<String, ObjectNode> usersByName = new LinkedHashMap<>();
+    private final Map<String, String> passwords = new LinkedHashMap<>();
+    private final byte[] accessKey = "stub-access-secret".getBytes(StandardCharsets.UTF_8);
+    private final byte[] refreshKey = "stub-refresh-secret".getBytes(StandardCharsets.UTF_8);
+    private final AtomicLong tokenSequence = new AtomicLong();
+
+    StubAuth(ObjectMapper mapper) {
+        this.mapper = mapper;
+        user(1, "emilys", "emilyspass", "Emily", "Johnson", "female");
+        user(2, "michaelw", "michaelwpass", "Michael", "Williams", "male");
+        user(3, "sophiab", "sophiabpass", "Sophia", "Brown", "female");
+        user(4, "jamesd", "jamesdpass", "James", "Davis", "male");
+        user(5, "emmaj", "emmajpass", "Emma", "Miller", "female");
+    }
+
+    ObjectNode authenticate(String username, String password) {
+        String expected = passwords.get(username);
+        return expected != null && expected.equals(password) ? usersByName.get(username) : null;
+    }
+
+    String accessToken(ObjectNode user, int expiresInMins) {
+        return sign(user, expiresInMins, accessKey);
+    }
+
+    String refreshToken(ObjectNode user, int expiresInMins) {
+        return sign(user, expiresInMins, refreshKey);
+    }
+
+    // returns the user the token belongs to, or null when the token is malformed, forged or expired
+    ObjectNode verifyAccess(String token) {
+        return verify(token, accessKey);
+    }
+
+    ObjectNode verifyRefresh(String token) {
+        return verify(token, refreshKey);
+    }
+
+    private void user(int id, String username, String password, String firstName, String lastName, String gender) {
+        ObjectNode user = mapper.createObjectNode();
+        user.put("id", id);
+        user.put("username", username);
+        user.put("email", firstName.toLowerCase() + "." + lastName.toLowerCase() + "@x.dummyjson.com");
+        user.put("firstName", firstName);
+        user.put("lastName", lastName);
+        user.put("gender", gender);
+        user.put("image", "https://dummyjson.com/icon/" + username + "/128");
+        usersByName.put(username, user);
+        passwords.put(username, password);
+    }
+
+    private String sign(ObjectNode user, int expiresInMins, byte[] key) {
+        long now = System.currentTimeMillis() / 1000;
+        ObjectNode claims = user.deepCopy();
+        claims.put("iat", now);
+        claims.put("exp", now + expiresInMins * 60L);
+        claims.put("jti", tokenSequence.incrementAndGet());   // keeps tokens minted in the same second distinct
+
+        String payload = B64.encodeToString(claims.toString().getBytes(StandardCharsets.UTF_8));
+        String unsigned = HEADER + "." + payload;
+        return unsigned + "." + B64.encodeToString(hmac(key, unsigned));
+    }
+
+    private ObjectNode verify(String token, byte[] key) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            byte[] expected = hmac(key, parts[0] + "." + parts[1]);
+            if (!MessageDigest.isEqual(expected, B64_DECODER.decode(parts[2]))) {
+                return null;
+            }
+            JsonNode claims = mapper.readTree(B64_DECODER.decode(parts[1]));
+            if (claims.path("exp").asLong() < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return usersByName.get(claims.path("username").asText());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package stub;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+// Deterministic product catalogue shaped like the real DummyJSON payloads
+// (dimensions, reviews, meta, images ... included on purpose).
+// Size defaults to the seed list and can be inflated with -Dstub.products=N
+class StubCatalogue {
+
+    private static final String[][] SEED = {
+            {"beauty", "Essence", "Essence Mascara Lash Princess", "Eyeshadow Palette with Mirror", "Powder Canister", "Red Lipstick", "Red Nail Polish"},
+            {"fragrances", "Chanel", "Calvin Klein CK One", "Chanel Coco Noir Eau De", "Dior J'adore", "Dolce Shine Eau de", "Gucci Bloom Eau de"},
+            {"furniture", "Annibale Colombo", "Annibale Colombo Bed", "Annibale Colombo Sofa", "Bedside Table African Cherry", "Knoll Saarinen Executive Conference Chair", "Wooden Bathroom Sink With Mirror"},
+            {"groceries", "", "Apple", "Beef Steak", "Cat Food", "Chicken Meat", "Cooking Oil", "Cucumber", "Dog Food", "Eggs", "Fish Steak", "Green Bell Pepper", "Honey Jar", "Ice Cream", "Juice", "Kiwi", "Lemon", "Milk", "Nescafe Coffee", "Potatoes", "Rice", "Water"},
+            {"home-decoration", "Home Decor", "Decoration Swing", "Family Tree Photo Frame", "House Showpiece Plant", "Plant Pot", "Table Lamp"},
+            {"kitchen-accessories", "Kitchen", "Bamboo Spatula", "Black Aluminium Cup", "Chopping Board", "Electric Stove", "Hand Blender", "Microwave Oven", "Silver Pot With Glass Cap", "Tray"},
+            {"laptops", "Apple", "Apple MacBook Pro 14 Inch Space Grey", "Asus Zenbook Pro Dual Screen Laptop", "Huawei Matebook X Pro", "Lenovo Yoga 920", "New DELL XPS 13 9300 Laptop"},
+            {"mens-shirts", "Fashion Trends", "Blue & Black Check Shirt", "Gigabyte Aorus Men Tshirt", "Man Plaid Shirt", "Man Short Sleeve Shirt", "Men Check Shirt"},
+            {"mens-shoes", "Nike", "Nike Air Jordan 1 Red And Black", "Nike Baseball Cleats", "Puma Future Rider Trainers", "Sports Sneakers Off White & Red", "Sports Sneakers Off White Red"},
+            {"mens-watches", "Rolex", "Brown Leather Belt Watch", "Longines Master Collection", "Rolex Cellini Date Black Dial", "Rolex Datejust", "Rolex Submariner Watch"},
+            {"mobile-accessories", "Apple", "Apple AirPods Max Silver", "Apple Airpods", "Apple MagSafe Battery Pack", "Beats Flex Wireless Earphones", "iPhone 12 Silicone Case with MagSafe Plum", "Selfie Stick Monopod", "Wireless Phone Charger"},
+            {"smartphones", "Apple", "iPhone 5s", "iPhone 6", "iPhone 13 Pro", "iPhone X", "Oppo A57", "Oppo F19 Pro Plus", "Realme C35", "Realme XT", "Samsung Galaxy S8", "Samsung Galaxy S10", "Vivo S1", "Vivo X21"},
+            {"sports-accessories", "Sports", "American Football", "Baseball Ball", "Basketball", "Cricket Bat", "Football", "Tennis Racket"},
+            {"sunglasses", "Sunglasses", "Black Sun Glasses", "Classic Sun Glasses", "Green and Black Glasses", "Party Glasses"},
+            {"tablets", "Samsung", "iPad Mini 2021 Starlight", "Samsung Galaxy Tab S8 Plus Grey", "Samsung Galaxy Tab White"},
+            {"womens-bags", "Prada", "Blue Women's Handbag", "Heshe Women's Leather Bag", "Prada Women Bag", "White Faux Leather Backpack"},
+            {"womens-jewellery", "Jewellery", "Green Crystal Earring", "Green Oval Earring", "Tropical Earring"},
+    };
+
+    private static final String[] REVIEWERS = {"John Doe", "Nolan Gonzalez", "Scarlett Wright", "Lucas Gordon", "Eleanor Collins", "Zoe Nicholson", "Liam Garcia"};
+    private static final String[] COMMENTS = {"Very satisfied!", "Would buy again!", "Highly impressed!", "Not as described!", "Very disappointed!", "Great value for money!"};
+
+    private final List<ObjectNode> products;
+
+    StubCatalogue(ObjectMapper mapper, int size) {
+        List<String[]> seeds = new ArrayList<>();
+        for (String[] row : SEED) {
+            for (int t = 2; t < row.length; t++) {
+                seeds.add(new String[]{row[0], row[1], row[t]});
+            }
+        }
+
+        Random random = new Random(42);
+        int target = size > 0 ? size : seeds.size();
+        List<ObjectNode> list = new ArrayList<>(target);
+        for (int i = 0; i < target; i++) {
+            String[] seed = seeds.get(i % seeds.size());
+            int round = i / seeds.size();
+            String title = round == 0 ? seed[2] : seed[2] + " " + (round + 1);
+            list.add(product(mapper, random, i + 1, seed[0], seed[1], title));
+        }
+        this.products = Collections.unmodifiableList(list);
+    }
+
+    List<ObjectNode> all() {
+        return products;
+    }
+
+    ObjectNode byId(int id) {
+        return id >= 1 && id <= products.size() ? products.get(id - 1) : null;
+    }
+
+    private static ObjectNode product(ObjectMapper mapper, Random random, int id, String category, String brand, String title) {
+        ObjectNode p = mapper.createObjectNode();
+        double price = round2(priceFor(category, random));
+        int stock = random.nextInt(120);
+
+        p.put("id", id);
+        p.put("title", title);
+        p.put("description", "The " + title + " is one of our most popular " + category.replace('-', ' ')
+                + " products, loved for its quality, design and everyday value.");
+        p.put("category", category);
+        p.put("price", price);
+        p.put("discountPercentage", round2(random.nextDouble() * 20));
+        p.put("rating", round2(2.5 + random.nextDouble() * 2.5));
+        p.put("stock", stock);
+        ArrayNode tags = p.putArray("tags");
+        tags.add(category.split("-")[0]);
+        if (!brand.isEmpty()) {
+            p.put("brand", brand);
+            tags.add(brand.toLowerCase(Locale.ROOT));
+        }
+        p.put("sku", String.format("%s-%05d", category.substring(0, 3).toUpperCase(Locale.ROOT), id));
+        p.put("weight", 1 + random.nextInt(9));
+        ObjectNode dimensions = p.putObject("dimensions");
+        dimensions.put("width", round2(5 + random.nextDouble() * 25));
+        dimensions.put("height", round2(5 + random.nextDouble() * 25));
+        dimensions.put("depth", round2(5 + random.nextDouble() * 25));
+        p.put("warrantyInformation", (1 + random.nextInt(3)) + " year warranty");
+        p.put("shippingInformation", "Ships in " + (1 + random.nextInt(7)) + " business days");
+        p.put("availabilityStatus", stock == 0 ? "Out of Stock" : stock < 10 ? "Low Stock" : "In Stock");
+        ArrayNode reviews = p.putArray("reviews");
+        for (int r = 0; r < 3; r++) {
+            String reviewer = REVIEWERS[random.nextInt(REVIEWERS.length)];
+            ObjectNode review = reviews.addObject();
+            review.put("rating", 1 + random.nextInt(5));
+            review.put("comment", COMMENTS[random.nextInt(COMMENTS.length)]);
+            review.put("date", "2024-05-23T08:56:21.618Z");
+            review.put("reviewerName", reviewer);
+            review.put("reviewerEmail", reviewer.toLowerCase(Locale.ROOT).replace(' ', '.') + "@x.dummyjson.com");
+        }
+        p.put("returnPolicy", (random.nextBoolean() ? 30 : 60) + " days return policy");
+        p.put("minimumOrderQuantity", 1 + random.nextInt(40));
+        ObjectNode meta = p.putObject("meta");
+        meta.put("createdAt", "2024-05-23T08:56:21.618Z");
+        meta.put("updatedAt", "2024-05-23T08:56:21.618Z");
+        meta.put("barcode", String.valueOf(1_000_000_000_000L + id * 7919L));
+        meta.put("qrCode", "https://assets.dummyjson.com/public/qr-code.png");
+        String slug = title.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        p.putArray("images").add("https://cdn.dummyjson.com/products/images/" + category + "/" + slug + "/1.png");
+        p.put("thumbnail", "https://cdn.dummyjson.com/products/images/" + category + "/" + slug + "/thumbnail.png");
+        return p;
+    }
+
+    private static double priceFor(String category, Random random) {
+        return switch (category) {
+            case "laptops", "furniture", "mens-watches" -> 500 + random.nextDouble() * 2000;
+            case "smartphones", "tablets", "fragrances" -> 100 + random.nextDouble() * 1200;
+            case "groceries" -> 1 + random.nextDouble() * 20;
+            default -> 5 + random.nextDouble() * 150;
+        };
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,51 @@
+package auth;
+
+import config.ApiConfig;
+import config.SharedLogin;
+import config.SharedResources;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SharedLogin.class)
+public class AuthAsyncTests {
+
+    private AuthAsyncClient client;
+
+    @BeforeAll
+    static void setup() {
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    @BeforeEach
+    void setUp() {
+        client = new AuthAsyncClient();
+    }
+
+    @Test
+    @ResourceLock(value = SharedResources.AUTH_TOKENS, mode = ResourceAccessMode.READ)
+    void smoke_refreshMeAsync_shouldWork(LoginResponse login) {
+        User me = client.refresh(new RefreshRequest(login.refreshToken()))
+                .thenCompose(refresh -> client.me(refresh.accessToken()))
+                .join();
+
+        assertAll(
+                () -> assertTrue(me.id() > 0, "User id should be greater than 0"),
+                () -> assertEquals(login.username(), me.username(), "Username from /me should match the login")
+        );
+    }
+
+    @Test
+    void loginRawAsync_ShouldFail_NoCredentials() {
+        int status = client.loginRaw(Map.of()).join().statusCode();
+
+        assertEquals(400, status);
+    }
+}
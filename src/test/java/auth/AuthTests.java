@@ -2,16 +2,22 @@ package auth;
 
 import config.ApiConfig;
 import config.AuthCredentials;
+import config.SharedLogin;
+import config.SharedResources;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
 
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ExtendWith(SharedLogin.class)
 public class AuthTests {
 
     private AuthClient client;
@@ -38,12 +44,12 @@ public class AuthTests {
         LoginResponse response = client.login(req);
 
         assertAll(
-                () -> assertTrue(response.getId() > 0, "User id should be greater than 0"),
-                () -> assertEquals(req.username(), response.getUsername(), "Returned username should match login request"),
-                () -> assertFalse(response.getAccessToken().isBlank(), "Access token should not be blank"),
-                () -> assertFalse(response.getRefreshToken().isBlank(), "Refresh token should not be blank"),
-                () -> assertTrue(response.getAccessToken().startsWith("ey"), "Access token should look like a JWT"),
-                () -> assertTrue(response.getRefreshToken().startsWith("ey"), "Refresh token should look like a JWT")
+                () -> assertTrue(response.id() > 0, "User id should be greater than 0"),
+                () -> assertEquals(req.username(), response.username(), "Returned username should match login request"),
+                () -> assertFalse(response.accessToken().isBlank(), "Access token should not be blank"),
+                () -> assertFalse(response.refreshToken().isBlank(), "Refresh token should not be blank"),
+                () -> assertTrue(response.accessToken().startsWith("ey"), "Access token should look like a JWT"),
+                () -> assertTrue(response.refreshToken().startsWith("ey"), "Refresh token should look like a JWT")
         );
     }
 
@@ -151,17 +157,15 @@ public class AuthTests {
     // =====================================================================
 
     @Test
-    void me_ShouldReturnUser_whenAccessTokenIsValid() {
-        LoginRequest loginRequest = AuthCredentials.defaultLoginRequest();
-        LoginResponse response = client.login(loginRequest);
-
-        User user = client.me(response.getAccessToken());
+    @ResourceLock(value = SharedResources.AUTH_TOKENS, mode = ResourceAccessMode.READ)
+    void me_ShouldReturnUser_whenAccessTokenIsValid(LoginResponse response) {
+        User user = client.me(response.accessToken());
 
         assertAll(
-                () -> assertTrue(user.getId() > 0, "User id should be greater than 0"),
-                () -> assertEquals(response.getUsername(), user.getUsername(), "Username from /me should match login response"),
-                () -> assertFalse(user.getEmail().isBlank(), "User email should not be blank"),
-                () -> assertTrue(user.getEmail().contains("@"), "User email should contain '@'")
+                () -> assertTrue(user.id() > 0, "User id should be greater than 0"),
+                () -> assertEquals(response.username(), user.username(), "Username from /me should match login response"),
+                () -> assertFalse(user.email().isBlank(), "User email should not be blank"),
+                () -> assertTrue(user.email().contains("@"), "User email should contain '@'")
         );
     }
 
@@ -212,15 +216,15 @@ public class AuthTests {
     // =====================================================================
 
     @Test
-    void refresh_shouldSendNewTokens_withValidRefreshToken() {
-        LoginResponse login = client.login(AuthCredentials.defaultLoginRequest());
-        RefreshResponse refresh = client.refresh(new RefreshRequest(login.getRefreshToken()));
+    @ResourceLock(value = SharedResources.AUTH_TOKENS, mode = ResourceAccessMode.READ)
+    void refresh_shouldSendNewTokens_withValidRefreshToken(LoginResponse login) {
+        RefreshResponse refresh = client.refresh(new RefreshRequest(login.refreshToken()));
 
         assertAll(
-                () -> assertNotEquals(login.getAccessToken(), refresh.getAccessToken(), "Refresh endpoint should return a new access token"),
-                () -> assertNotEquals(login.getRefreshToken(), refresh.getRefreshToken(), "Refresh endpoint should return a new refresh token"),
-                () -> assertFalse(refresh.getAccessToken().isBlank(), "Refreshed access token should not be blank"),
-                () -> assertFalse(refresh.getRefreshToken().isBlank(), "Refreshed refresh token should not be blank")
+                () -> assertNotEquals(login.accessToken(), refresh.accessToken(), "Refresh endpoint should return a new access token"),
+                () -> assertNotEquals(login.refreshToken(), refresh.refreshToken(), "Refresh endpoint should return a new refresh token"),
+                () -> assertFalse(refresh.accessToken().isBlank(), "Refreshed access token should not be blank"),
+                () -> assertFalse(refresh.refreshToken().isBlank(), "Refreshed refresh token should not be blank")
         );
     }
 
@@ -257,11 +261,12 @@ public class AuthTests {
     // =====================================================================
 
     @Test
+    @ResourceLock(SharedResources.AUTH_TOKENS)
     void smoke_loginMeRefreshMe_shouldWork() {
         // LOGIN
         LoginResponse login = client.login(AuthCredentials.defaultLoginRequest());
-        String accessToken1 = login.getAccessToken();
-        String refreshToken = login.getRefreshToken();
+        String accessToken1 = login.accessToken();
+        String refreshToken = login.refreshToken();
 
         assertAll("Login response",
                 () -> assertNotNull(login, "Login response should not be null"),
@@ -273,18 +278,18 @@ public class AuthTests {
         User meBeforeRef = client.me(accessToken1);
         assertAll("Me (before refresh)",
                 () -> assertNotNull(meBeforeRef, "User returned from /me should not be null"),
-                () -> assertTrue(meBeforeRef.getId() > 0, "User id should be greater than 0"),
-                () -> assertNotNull(meBeforeRef.getUsername(), "Username should not be null"),
-                () -> assertFalse(meBeforeRef.getUsername().isBlank(), "Username should not be blank")
+                () -> assertTrue(meBeforeRef.id() > 0, "User id should be greater than 0"),
+                () -> assertNotNull(meBeforeRef.username(), "Username should not be null"),
+                () -> assertFalse(meBeforeRef.username().isBlank(), "Username should not be blank")
         );
 
         // REFRESH
         RefreshResponse refresh = client.refresh(new RefreshRequest(refreshToken));
-        String accessToken2 = refresh.getAccessToken();
+        String accessToken2 = refresh.accessToken();
 
         assertAll("Refresh response",
-                () -> assertFalse(refresh.getAccessToken().isBlank(), "Refreshed access token should not be blank"),
-                () -> assertFalse(refresh.getRefreshToken().isBlank(), "Refreshed refresh token should not be blank"),
+                () -> assertFalse(refresh.accessToken().isBlank(), "Refreshed access token should not be blank"),
+                () -> assertFalse(refresh.refreshToken().isBlank(), "Refreshed refresh token should not be blank"),
                 () -> assertNotEquals(accessToken1, accessToken2, "Access token after refresh should differ from the previous one")
         );
 
@@ -292,9 +297,9 @@ public class AuthTests {
         User meAfterRef = client.me(accessToken2);
         assertAll("Me (after refresh)",
                 () -> assertNotNull(meAfterRef, "User returned from /me after refresh should not be null"),
-                () -> assertTrue(meAfterRef.getId() > 0, "User id after refresh should be greater than 0"),
-                () -> assertEquals(meBeforeRef.getId(), meAfterRef.getId(), "User id should remain the same after token refresh"),
-                () -> assertEquals(meBeforeRef.getUsername(), meAfterRef.getUsername(), "Username should remain the same after token refresh")
+                () -> assertTrue(meAfterRef.id() > 0, "User id after refresh should be greater than 0"),
+                () -> assertEquals(meBeforeRef.id(), meAfterRef.id(), "User id should remain the same after token refresh"),
+                () -> assertEquals(meBeforeRef.username(), meAfterRef.username(), "Username should remain the same after token refresh")
         );
     }
 }
@@ -0,0 +1,119 @@
+package auth;
+
+import config.ApiConfig;
+import config.AuthCredentials;
+import config.SharedLogin;
+import config.SharedResources;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(SharedLogin.class)
+public class TokenManagerTests {
+
+    private TokenManager tokens;
+
+    @BeforeAll
+    static void setup() {
+        ApiConfig.apply();
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    @BeforeEach
+    void setUp() {
+        tokens = new TokenManager(new AuthClient());
+    }
+
+    @AfterEach
+    void tearDown() {
+        tokens.close();
+    }
+
+    @Test
+    @ResourceLock(value = SharedResources.AUTH_TOKENS, mode = ResourceAccessMode.READ)
+    void accessToken_shouldBeCached_betweenCalls() {
+        LoginRequest req = AuthCredentials.defaultLoginRequest();
+
+        String first = tokens.accessToken(req);
+        String second = tokens.accessToken(req);
+
+        assertAll(
+                () -> assertEquals(first, second, "Second call should reuse the cached token"),
+                () -> assertEquals(1, tokens.loginCount(), "Only one login should hit /auth/login"),
+                () -> assertEquals(req.username(), tokens.me(req).username(), "Cached token should work for /auth/me")
+        );
+    }
+
+    @Test
+    void accessToken_shouldLoginOnce_forConcurrentCallers() {
+        LoginRequest req = AuthCredentials.defaultLoginRequest();
+
+        List<CompletableFuture<String>> callers = IntStream.range(0, 20)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> tokens.accessToken(req), ApiConfig.executor()))
+                .collect(Collectors.toList());
+        List<String> results = callers.stream().map(CompletableFuture::join).distinct().collect(Collectors.toList());
+
+        assertAll(
+                () -> assertEquals(1, results.size(), "All callers should share the same token"),
+                () -> assertEquals(1, tokens.loginCount(), "Concurrent callers should share one in-flight login")
+        );
+    }
+
+    @Test
+    @ResourceLock(SharedResources.AUTH_TOKENS)
+    void refresh_shouldUseRefreshEndpoint_andReturnNewToken() {
+        LoginRequest req = AuthCredentials.defaultLoginRequest();
+        String before = tokens.accessToken(req);
+
+        TokenManager.Tokens refreshed = tokens.refresh(req);
+
+        assertAll(
+                () -> assertNotEquals(before, refreshed.accessToken(), "Refresh should return a new access token"),
+                () -> assertEquals(1, tokens.loginCount(), "Refresh should not log in again"),
+                () -> assertEquals(1, tokens.refreshCount(), "Refresh should go through /auth/refresh"),
+                () -> assertEquals(refreshed.accessToken(), tokens.accessToken(req), "Refreshed token should be cached")
+        );
+    }
+
+    @Test
+    void accessToken_shouldStillWork_afterClose() {
+        LoginRequest req = AuthCredentials.defaultLoginRequest();
+        tokens.close();
+
+        assertDoesNotThrow(() -> tokens.accessToken(req));
+
+        assertEquals(req.username(), tokens.me(req).username(), "Token fetched after close should be usable");
+    }
+
+    // the shared session was issued some time before this test runs, so exp lies anywhere up to expiresInMins ahead
+    @Test
+    @ResourceLock(value = SharedResources.AUTH_TOKENS, mode = ResourceAccessMode.READ)
+    void expiresAt_shouldBeDecodedFromJwtExpClaim(LoginResponse login) {
+        Duration lifetime = Duration.ofMinutes(AuthCredentials.defaultLoginRequest().expiresInMins());
+        TokenManager.Tokens current = TokenManager.Tokens.of(login, login.accessToken(), login.refreshToken(),
+                TokenManager.DEFAULT_REFRESH_AHEAD, lifetime);
+
+        Instant now = Instant.now();
+        assertAll(
+                () -> assertEquals(TokenManager.expiresAt(login.accessToken()), current.expiresAt(),
+                        "Expiry should come from the exp claim"),
+                () -> assertTrue(current.expiresAt().isAfter(now), "Token should not have expired yet"),
+                () -> assertFalse(current.expiresAt().isAfter(now.plus(lifetime).plusSeconds(120)),
+                        "exp claim should match expiresInMins"),
+                () -> assertTrue(current.refreshAt().isBefore(current.expiresAt()), "Refresh should be scheduled before expiry")
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedFileResponseCacheTests {
+
+    @TempDir
+    Path dir;
+
+    private static CachedResponse response(String body, String etag) {
+        return new CachedResponse(body.getBytes(StandardCharsets.UTF_8), etag, 1_000, 2_000);
+    }
+
+    private static String body(CachedResponse response) {
+        return new String(response.body(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void entries_ShouldSurviveReopening()
+    {
+        Path file = dir.resolve("responses.cache");
+        try (MappedFileResponseCache cache = MappedFileResponseCache.open(file)) {
+            cache.put("/products/1", response("{\"id\":1}", "\"v1\""));
+            cache.put("/products/2", response("{\"id\":2}", null));
+            cache.put("/products/search?q=phone", response("{\"products\":[]}", "\"s\""));
+            cache.put("/products/1", response("{\"id\":1,\"title\":\"new\"}", "\"v2\""));
+            cache.invalidatePrefix("/products/search");
+        }
+
+        try (MappedFileResponseCache reopened = MappedFileResponseCache.open(file)) {
+            CachedResponse first = reopened.get("/products/1");
+            assertAll(
+                    ()-> assertEquals(2, reopened.size()),
+                    ()-> assertEquals("{\"id\":1,\"title\":\"new\"}", body(first), "Latest write should win"),
+                    ()-> assertEquals("\"v2\"", first.etag()),
+                    ()-> assertEquals(2_000, first.expiresAtMillis()),
+                    ()-> assertNull(reopened.get("/products/2").etag()),
+                    ()-> assertNull(reopened.get("/products/search?q=phone"), "Invalidated entry should stay gone")
+            );
+        }
+    }
+
+    @Test
+    void tornRecord_ShouldReadAsMiss_andOversizedEtagShouldNotBeStored() throws Exception
+    {
+        Path file = dir.resolve("torn.cache");
+        try (MappedFileResponseCache cache = MappedFileResponseCache.open(file, 4096)) {
+            cache.put("/k", response("{}", null));
+            // what a reader racing a clear could see: the body length of the first record overwritten
+            // (header 64 + length, type, storedAt, expiresAt 21 + key 2+2 + no etag 2)
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.seek(64 + 21 + 4 + 2);
+                raw.writeInt(Integer.MAX_VALUE - 16);
+            }
+            cache.put("/etag", response("{}", "e".repeat(Short.MAX_VALUE + 1)));
+
+            assertAll(
+                    ()-> assertNull(cache.get("/k"), "A garbage length must not be allocated"),
+                    ()-> assertNull(cache.get("/etag"), "An etag longer than its length prefix should not be cached")
+            );
+        }
+    }
+
+    @Test
+    void fullFile_ShouldBeClearedAndCountEvictions()
+    {
+        try (MappedFileResponseCache cache = MappedFileResponseCache.open(dir.resolve("small.cache"), 4096)) {
+            String body = "x".repeat(500);
+            for (int i = 0; i < 20; i++) {
+                cache.put("/products/" + i, response(body, null));
+            }
+
+            assertAll(
+                    ()-> assertTrue(cache.evictions() > 0, "20 x 500 bytes cannot fit in 4 KB"),
+                    ()-> assertEquals(body, body(cache.get("/products/19")), "Latest entry should be readable"),
+                    ()-> assertNull(cache.get("/products/0")),
+                    ()-> assertEquals(20, cache.size() + cache.evictions())
+            );
+        }
+    }
+
+    // two other JVMs (as with parallel surefire forks) append to the same file while this one does
+    @Test
+    void concurrentProcesses_ShouldShareTheFile() throws Exception
+    {
+        Path file = dir.resolve("shared.cache");
+        int perProcess = 200;
+        try (MappedFileResponseCache cache = MappedFileResponseCache.open(file)) {
+            List<Process> forks = new ArrayList<>();
+            for (int fork = 1; fork <= 2; fork++) {
+                forks.add(new ProcessBuilder(
+                        System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                        "-cp", System.getProperty("java.class.path"),
+                        Writer.class.getName(), file.toString(), "fork" + fork, String.valueOf(perProcess))
+                        .inheritIO()
+                        .start());
+            }
+            Writer.write(cache, "fork0", perProcess);
+            for (Process fork : forks) {
+                assertTrue(fork.waitFor(60, TimeUnit.SECONDS), "Writer process did not finish");
+                assertEquals(0, fork.exitValue());
+            }
+
+            assertEquals(3 * perProcess, cache.size());
+            for (int fork = 0; fork <= 2; fork++) {
+                for (int i = 0; i < perProcess; i++) {
+                    String key = "/products/fork" + fork + "-" + i;
+                    assertEquals(key, body(cache.get(key)));
+                }
+            }
+        }
+    }
+
+    public static class Writer {
+
+        public static void main(String[] args) {
+            try (MappedFileResponseCache cache = MappedFileResponseCache.open(Path.of(args[0]))) {
+                write(cache, args[1], Integer.parseInt(args[2]));
+            }
+        }
+
+        static void write(MappedFileResponseCache cache, String name, int count) {
+            for (int i = 0; i < count; i++) {
+                String key = "/products/" + name + "-" + i;
+                cache.put(key, response(key, null));
+            }
+        }
+    }
+}
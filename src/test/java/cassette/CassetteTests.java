@@ -0,0 +1,145 @@
+package cassette;
+
+import auth.AuthClient;
+import auth.LoginRequest;
+import auth.LoginResponse;
+import config.ApiConfig;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import products.Product;
+import products.ProductsClient;
+import products.ProductsResponse;
+import stub.DummyJsonStub;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CassetteTests {
+
+    private static final LoginRequest LOGIN = new LoginRequest("emilys", "emilyspass", 30);
+
+    @TempDir
+    Path dir;
+
+    // built by hand so the test controls the cassette whatever -Dapi.cassette says
+    private static RequestSpecification spec(String baseUri, Cassette cassette, CassetteMode mode) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(ApiConfig.restAssuredConfig())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addFilter(new CassetteFilter(cassette, mode))
+                .build();
+    }
+
+    @Test
+    void recordedCalls_ShouldReplayWithoutNetwork()
+    {
+        Path file = dir.resolve("dummyjson.jsonl");
+        String baseUri;
+        Product product;
+        ProductsResponse search;
+        LoginResponse login;
+
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            baseUri = stub.baseUri();
+            Cassette recording = new Cassette();
+            RequestSpecification spec = spec(baseUri, recording, CassetteMode.RECORD);
+            product = new ProductsClient(spec).getProductById(1);
+            search = new ProductsClient(spec).searchProductsByName("phone");
+            login = new AuthClient(spec).login(LOGIN);
+            recording.save(file);
+        }
+
+        // the stub is gone: any call that reached the network would fail
+        Cassette cassette = Cassette.load(file);
+        RequestSpecification spec = spec(baseUri, cassette, CassetteMode.STRICT);
+        assertAll(
+                ()-> assertEquals(3, cassette.size()),
+                ()-> assertEquals(product, new ProductsClient(spec).getProductById(1)),
+                ()-> assertEquals(search, new ProductsClient(spec).searchProductsByName("phone")),
+                ()-> assertEquals(login.accessToken(), new AuthClient(spec).login(LOGIN).accessToken()),
+                ()-> assertFalse(Files.readString(file).contains("emilyspass"), "Request bodies are only stored as a hash")
+        );
+    }
+
+    @Test
+    void unrecordedCall_ShouldFailInStrictMode_andGoToNetworkInReplayMode()
+    {
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            Cassette empty = new Cassette();
+
+            ProductsClient strict = new ProductsClient(spec(stub.baseUri(), empty, CassetteMode.STRICT));
+            ProductsClient replay = new ProductsClient(spec(stub.baseUri(), empty, CassetteMode.REPLAY));
+
+            UnrecordedInteractionException e = assertThrows(UnrecordedInteractionException.class,
+                    () -> strict.getProductById(2));
+            assertAll(
+                    ()-> assertTrue(e.getMessage().contains("GET /products/{id} id=2"), e.getMessage()),
+                    ()-> assertEquals(2, replay.getProductById(2).id())
+            );
+        }
+    }
+
+    @Test
+    void samePathWithDifferentTokens_ShouldReplayTheAnswerForEachToken()
+    {
+        Cassette recording = new Cassette();
+        String validToken;
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            RequestSpecification spec = spec(stub.baseUri(), recording, CassetteMode.RECORD);
+            AuthClient client = new AuthClient(spec);
+            validToken = client.login(LOGIN).accessToken();
+            assertEquals(200, client.meRaw(validToken).statusCode());
+            assertEquals(401, client.meRaw("wrong token").statusCode());
+        }
+
+        // replayed in the opposite order: each call gets the answer recorded for its own token
+        AuthClient replay = new AuthClient(spec("http://127.0.0.1:1", recording, CassetteMode.STRICT));
+        assertAll(
+                ()-> assertEquals(401, replay.meRaw("wrong token").statusCode()),
+                ()-> assertEquals(LOGIN.username(), replay.me(validToken).username()),
+                ()-> assertNotEquals(
+                        Cassette.key("GET", "/auth/me", Map.of(), Map.of(), Map.of("Authorization", "Bearer a"), null),
+                        Cassette.key("GET", "/auth/me", Map.of(), Map.of(), Map.of("Authorization", "Bearer b"), null))
+        );
+    }
+
+    @Test
+    void key_ShouldIgnoreJsonKeyOrder_andRepeatedCallsReplayInOrder()
+    {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("username", "emilys");
+        first.put("password", "emilyspass");
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("password", "emilyspass");
+        second.put("username", "emilys");
+
+        String key = Cassette.key("POST", "/auth/login", Map.of(), Map.of(), json(first));
+        assertEquals(key, Cassette.key("POST", "/auth/login", Map.of(), Map.of(), json(second)));
+
+        Cassette cassette = new Cassette();
+        cassette.record(new Cassette.Interaction(key, 200, Map.of(), "{\"accessToken\":\"a\"}"));
+        cassette.record(new Cassette.Interaction(key, 200, Map.of(), "{\"accessToken\":\"b\"}"));
+        assertAll(
+                ()-> assertEquals("{\"accessToken\":\"a\"}", cassette.next(key).body()),
+                ()-> assertEquals("{\"accessToken\":\"b\"}", cassette.next(key).body()),
+                ()-> assertEquals("{\"accessToken\":\"b\"}", cassette.next(key).body(), "Last recording repeats"),
+                ()-> assertNull(cassette.next("GET /products"))
+        );
+    }
+
+    private static byte[] json(Map<String, Object> body) {
+        StringBuilder json = new StringBuilder("{");
+        body.forEach((k, v) -> json.append(json.length() > 1 ? "," : "").append('"').append(k).append("\":\"").append(v).append('"'));
+        return json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
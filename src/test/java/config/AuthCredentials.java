@@ -3,20 +3,20 @@ import auth.LoginRequest;
 
 public class AuthCredentials {
 
+    // the environment cannot change while the JVM runs: read it once, not on every call
+    private static final String USERNAME = System.getenv("DUMMYJSON_USERNAME");
+    private static final String PASSWORD = System.getenv("DUMMYJSON_PASSWORD");
+    private static final LoginRequest DEFAULT_LOGIN =
+            USERNAME == null || PASSWORD == null ? null : new LoginRequest(USERNAME, PASSWORD, 60);
+
     private AuthCredentials(){}
     public static LoginRequest defaultLoginRequest(){
-        String username = System.getenv("DUMMYJSON_USERNAME");
-        String password = System.getenv("DUMMYJSON_PASSWORD");
-
-        if (username==null|| password==null) {
+        if (DEFAULT_LOGIN == null) {
             throw new IllegalStateException("DUMMYJSON_USERNAME or DUMMYJSON_PASSWORD is not set"
             );
         }
 
-        return  new LoginRequest(username,password,60);
-
-
-
+        return DEFAULT_LOGIN;
     }
 
 }
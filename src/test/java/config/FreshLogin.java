@@ -0,0 +1,13 @@
+package config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// On a LoginResponse parameter resolved by SharedLogin: log in again for this test instead of
+// handing out the shared session, for tests that need tokens issued just for them.
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FreshLogin {
+}
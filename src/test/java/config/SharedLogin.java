@@ -0,0 +1,39 @@
+package config;
+
+import auth.AuthClient;
+import auth.LoginResponse;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+// @ExtendWith(SharedLogin.class): a LoginResponse test parameter is the default user's session, logged in
+// once per surefire fork and shared by every test class that asks for it. A token issued for
+// AuthCredentials.defaultLoginRequest() lives 60 minutes, far longer than a suite run.
+//
+// The tokens are stateless JWTs (never revoked, a refresh leaves them valid), so tests calling /auth/me or
+// /auth/refresh with them only lock SharedResources.AUTH_TOKENS READ. A test that needs tokens nobody
+// else holds annotates the parameter @FreshLogin and gets its own login instead.
+public class SharedLogin implements ParameterResolver {
+
+    // the root store lives as long as the engine run in this JVM, i.e. the fork
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedLogin.class);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == LoginResponse.class;
+    }
+
+    @Override
+    public LoginResponse resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        if (parameterContext.isAnnotated(FreshLogin.class)) {
+            return login();
+        }
+        // computed at most once, even when classes running concurrently ask at the same time
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(LoginResponse.class, type -> login(), LoginResponse.class);
+    }
+
+    private static LoginResponse login() {
+        return new AuthClient().login(AuthCredentials.defaultLoginRequest());
+    }
+}
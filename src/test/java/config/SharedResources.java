@@ -0,0 +1,15 @@
+package config;
+
+// Keys for @ResourceLock now that test methods run concurrently (see junit.configurationParameters in the pom).
+// Tests that change shared state lock the key READ_WRITE; tests whose assertions depend on that state
+// lock it READ. Everything else runs freely.
+public final class SharedResources {
+
+    // the product catalogue: add/update/delete vs. tests that check what the catalogue contains
+    public static final String PRODUCTS = "dummyjson.products";
+
+    // the default user's tokens: refreshes vs. tests that use a token issued by an earlier login (see SharedLogin)
+    public static final String AUTH_TOKENS = "dummyjson.auth.tokens";
+
+    private SharedResources() {}
+}
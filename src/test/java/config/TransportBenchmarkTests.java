@@ -0,0 +1,88 @@
+package config;
+
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import stub.DummyJsonStub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Requests/sec against the local DummyJSON stub:
+// RestAssured default (new HttpClient + connection per call) vs the pooled transport.
+// Run with: mvn test -Pbench
+@Isolated
+@Tag("benchmark")
+public class TransportBenchmarkTests {
+
+    private static final int WARMUP = 500;
+    private static final int REQUESTS = 5_000;
+    private static final int THREADS = 16;
+
+    private static DummyJsonStub stub;
+    private static String baseUri;
+
+    @BeforeAll
+    static void startStub() {
+        stub = DummyJsonStub.start(0);
+        baseUri = stub.baseUri();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void pooledTransport_shouldOutperformDefaultConnectionHandling() throws Exception {
+        RestAssuredConfig defaults = RestAssuredConfig.config();
+        RestAssuredConfig pooled = ApiConfig.restAssuredConfig();
+
+        run(defaults, WARMUP);
+        run(pooled, WARMUP);
+
+        double before = run(defaults, REQUESTS);
+        double after = run(pooled, REQUESTS);
+
+        System.out.printf("transport benchmark (%d requests, %d threads)%n", REQUESTS, THREADS);
+        System.out.printf("  default : %,10.0f req/s%n", before);
+        System.out.printf("  pooled  : %,10.0f req/s  (x%.2f)%n", after, after / before);
+
+        assertTrue(after > 0 && before > 0);
+    }
+
+    private static double run(RestAssuredConfig config, int requests) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < requests / THREADS; i++) {
+                        int status = RestAssured.given()
+                                .config(config)
+                                .baseUri(baseUri)
+                                .get("/products/1")
+                                .statusCode();
+                        assertEquals(200, status);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            return requests / ((System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package load;
+
+import auth.AuthClient;
+import cassette.CassetteMode;
+import cassette.Cassettes;
+import config.ApiConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import products.ProductsClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+// a load run saturates the machine: timings would be skewed both ways if other tests ran alongside
+@Isolated
+public class LoadDriverTests {
+    @BeforeAll
+    static void setup() {
+        // random ids and queries: a load run can never be fully recorded
+        assumeFalse(Cassettes.mode() == CassetteMode.STRICT, "Load tests need a live or stub backend");
+        ApiConfig.apply();
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    @Test
+    void defaultMix_ShouldRunEveryScenario_withoutErrors()
+    {
+        List<Scenario> mix = Scenarios.parse(Scenarios.DEFAULT_MIX, new AuthClient(), new ProductsClient(),
+                Scenarios.credentialsFromEnvironment());
+
+        LoadReport report = new LoadDriver(mix, LoadProfile.openModel(40, Duration.ofMillis(500), Duration.ofSeconds(2))).run();
+        report.print(System.out);
+
+        // 40 req/s for 2 s, minus half of the ramp-up
+        assertAll(
+                ()-> assertEquals(70, report.totalCount(), 5),
+                ()-> assertEquals(0, report.totalErrors(), "No call in the mix should fail"),
+                ()-> assertTrue(report.row("getProductById").count() > report.row("authFlow").count())
+        );
+    }
+
+    @Test
+    void closedLoop_ShouldKeepWorkersBusy_forTheWholeRun()
+    {
+        List<Scenario> mix = Scenarios.parse("getProductById=1", new AuthClient(), new ProductsClient(),
+                Scenarios.credentialsFromEnvironment());
+
+        LoadReport report = new LoadDriver(mix, LoadProfile.closedLoop(2, Duration.ZERO, Duration.ofSeconds(1))).run();
+
+        assertAll(
+                ()-> assertTrue(report.totalCount() >= 2, "Each worker should send at least one request"),
+                ()-> assertEquals(0, report.totalErrors())
+        );
+    }
+
+    @Test
+    void openModel_ShouldChargeQueueingTime_whenTheBackendStalls()
+    {
+        // one "server" thread that stalls once for 300 ms: the requests due during the stall
+        // must show the wait in their response time even though their own service time is tiny
+        AtomicBoolean stalled = new AtomicBoolean();
+        Scenario stallOnce = new Scenario("stallOnce", 1, () -> {
+            if (stalled.compareAndSet(false, true)) {
+                sleep(300);
+            }
+        });
+        ExecutorService server = Executors.newSingleThreadExecutor();
+        try {
+            LoadReport report = new LoadDriver(List.of(stallOnce),
+                    LoadProfile.openModel(100, Duration.ZERO, Duration.ofSeconds(1)), server).run();
+            LoadReport.Row row = report.row("stallOnce");
+
+            assertAll(
+                    ()-> assertEquals(100, row.count(), 2),
+                    ()-> assertTrue(row.percentileMillis(90) > 100,
+                            "Requests queued behind the stall should be slow: p90 = " + row.percentileMillis(90)),
+                    ()-> assertTrue(row.serviceTime().getValueAtPercentile(90) < 100_000,
+                            "Only one request actually took long")
+            );
+        } finally {
+            server.shutdownNow();
+        }
+    }
+
+    @Test
+    void openModel_ShouldQueueRequestsBeyondMaxInFlight_andChargeTheWait()
+    {
+        // 50 req/s against a 40 ms call with one slot: the backlog grows by 1 request every 100 ms
+        Scenario slow = new Scenario("slow", 1, () -> sleep(40));
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            LoadReport report = new LoadDriver(List.of(slow),
+                    new LoadProfile(50, 1, Duration.ZERO, Duration.ofSeconds(1), 1), pool).run();
+            LoadReport.Row row = report.row("slow");
+
+            assertAll(
+                    ()-> assertEquals(50, row.count(), "Every due request should be sent and measured"),
+                    ()-> assertTrue(row.queued() > 0, "Requests beyond maxInFlight should be counted as queued"),
+                    ()-> assertTrue(row.responseTime().getMaxValue() > 200_000,
+                            "The wait for a slot should be part of the response time: max = " + row.responseTime().getMaxValue())
+            );
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package metrics;
+
+import cassette.CassetteMode;
+import cassette.Cassettes;
+import com.fasterxml.jackson.databind.JsonNode;
+import config.ApiConfig;
+import config.Json;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import products.ProductsClient;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ApiMetricsTests {
+    @BeforeAll
+    static void setup() {
+        ApiConfig.apply();
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    // a private ApiMetrics so counts are not mixed with whatever other tests did
+    private static ProductsClient instrumentedClient(ApiMetrics metrics) {
+        return new ProductsClient(ApiConfig.requestSpecBuilder(ApiConfig.baseUri())
+                .addFilter(metrics.filter())
+                .build());
+    }
+
+    @Test
+    void requests_ShouldBeRecordedPerPathTemplate()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        ProductsClient client = instrumentedClient(metrics);
+
+        client.getProductById(1);
+        client.getProductById(2);
+        client.searchProductsByName("phone");
+
+        EndpointSnapshot byId = metrics.endpoint("GET", "/products/{id}").snapshot();
+        assertAll(
+                ()-> assertEquals(2, metrics.endpoints().size(), "Concrete ids must not create new endpoints"),
+                ()-> assertEquals(2, byId.requests()),
+                ()-> assertEquals(2L, byId.statusCodes().get(200)),
+                ()-> assertEquals(0, byId.errors()),
+                ()-> assertTrue(byId.bytesIn() > 0, "Response bytes should be counted"),
+                ()-> assertTrue(byId.latencyMicros().getMaxValue() > 0)
+        );
+    }
+
+    @Test
+    void notFound_ShouldCountStatus_butNotAsError()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+
+        instrumentedClient(metrics).getProductById(999999);
+
+        EndpointSnapshot byId = metrics.endpoint("GET", "/products/{id}").snapshot();
+        assertAll(
+                ()-> assertEquals(1L, byId.statusCodes().get(404)),
+                ()-> assertEquals(0, byId.errors(), "Only transport failures and 5xx are errors")
+        );
+    }
+
+    @Test
+    void compressedResponses_ShouldCountWireBytesSeparately()
+    {
+        assumeTrue(Cassettes.mode() == CassetteMode.OFF || Cassettes.mode() == CassetteMode.RECORD,
+                "A replayed response never crossed the wire");
+        ApiMetrics metrics = new ApiMetrics();
+
+        instrumentedClient(metrics).getProductsByCategory("smartphones");
+
+        EndpointSnapshot category = metrics.endpoint("GET", "/products/category/{category}").snapshot();
+        assertAll(
+                ()-> assertTrue(category.wireBytesIn() > 0),
+                ()-> assertTrue(category.wireBytesIn() < category.bytesIn(),
+                        "A listing of several KB should arrive gzip-compressed and be counted decoded in bytesIn"),
+                ()-> assertTrue(category.compressionSavings() > 0.5)
+        );
+    }
+
+    @Test
+    void metrics_ShouldBeExportedToMicrometer_andJsonSummary(@TempDir Path dir) throws IOException
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new MicrometerBinder(metrics).bindTo(registry);
+
+        instrumentedClient(metrics).getProductsByCategory("smartphones");
+
+        Path file = dir.resolve("api-metrics.json");
+        metrics.writeSummary(file);
+        JsonNode summary = Json.mapper().readTree(file.toFile()).get("GET /products/category/{category}");
+
+        assertAll(
+                ()-> assertEquals(1.0, registry.get("api.client.requests")
+                        .tag("uri", "/products/category/{category}").functionCounter().count()),
+                ()-> assertEquals(1.0, registry.get("api.client.responses")
+                        .tag("status", "2xx").functionCounter().count()),
+                ()-> assertNotNull(summary, "Summary should have an entry per endpoint template"),
+                ()-> assertEquals(1, summary.get("requests").asInt()),
+                ()-> assertTrue(summary.get("latencyMs").get("p99").asDouble() > 0)
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package products;
+
+import config.ApiConfig;
+import config.SharedResources;
+import metrics.ApiMetrics;
+import metrics.EndpointMetrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(value = SharedResources.PRODUCTS, mode = ResourceAccessMode.READ)
+public class ProductIndexTests {
+
+    // only the local client records here: the global metrics also count other tests' (concurrent) searches
+    private static final ApiMetrics LOCAL_METRICS = new ApiMetrics();
+    private static ProductsClient remote;
+    private static ProductsClient local;
+
+    @BeforeAll
+    static void setUp() {
+        remote = new ProductsClient();
+        local = new ProductsClient(ApiConfig.requestSpecBuilder(ApiConfig.baseUri())
+                .addFilter(LOCAL_METRICS.filter())
+                .build())
+                .withLocalIndex(Duration.ZERO);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        local.localIndex().close();
+    }
+
+    private static Product product(int id, String title, String description, String category) {
+        return new Product(id, title, description, 10, 0, 0, 1, null, category, null, null);
+    }
+
+    @Test
+    void localIndex_ShouldAnswerLikeTheServer()
+    {
+        String category = remote.getProductById(1).category();
+
+        for (String query : List.of("phone", "Mascara", "red lip", "a", "", "!", "no-such-product-xyz")) {
+            ProductsResponse expected = remote.searchProductsByName(query);
+            ProductsResponse actual = local.searchProductsByName(query);
+            assertEquals(expected.total(), actual.total(), "total for q=" + query);
+            assertEquals(expected.products(), actual.products(), "products for q=" + query);
+        }
+        for (String name : List.of(category, "no-such-category")) {
+            ProductsResponse expected = remote.getProductsByCategory(name);
+            ProductsResponse actual = local.getProductsByCategory(name);
+            assertEquals(expected.total(), actual.total(), "total for category " + name);
+            assertEquals(expected.products(), actual.products(), "products for category " + name);
+        }
+    }
+
+    @Test
+    void localIndex_ShouldNotCallTheServer()
+    {
+        EndpointMetrics search = LOCAL_METRICS.endpoint("GET", "/products/search");
+        EndpointMetrics category = LOCAL_METRICS.endpoint("GET", "/products/category/{category}");
+        long before = search.requests() + category.requests();
+
+        for (int i = 0; i < 1_000; i++) {
+            local.searchProductsByName("phone");
+            local.getProductsByCategory("beauty");
+        }
+
+        assertEquals(before, search.requests() + category.requests());
+        assertTrue(local.localIndex().size() > 0);
+    }
+
+    @Test
+    void resync_ShouldApplyAddedChangedAndRemovedProducts()
+    {
+        List<Product> catalogue = new CopyOnWriteArrayList<>(List.of(
+                product(1, "Red Lipstick", "Matte finish", "beauty"),
+                product(2, "Smartphone X", "A phone", "smartphones"),
+                product(3, "Phone case", "Fits Smartphone X", "accessories")));
+
+        try (ProductIndex index = new ProductIndex(catalogue::stream, Duration.ZERO)) {
+            assertEquals(2, index.search("phone").total());
+            assertEquals(0, index.resync(), "Nothing changed yet");
+
+            catalogue.set(0, product(1, "Red Lipstick", "Now with a phone holder", "beauty"));   // changed
+            catalogue.remove(2);                                                                  // removed
+            catalogue.add(product(4, "Desk lamp", "LED", "home-decoration"));                    // added
+
+            assertEquals(3, index.resync());
+            List<Integer> phoneIds = new ArrayList<>();
+            index.search("phone").products().forEach(p -> phoneIds.add(p.id()));
+            assertAll(
+                    ()-> assertEquals(List.of(1, 2), phoneIds),
+                    ()-> assertEquals(0, index.byCategory("accessories").total()),
+                    ()-> assertEquals(4, index.byCategory("home-decoration").products().get(0).id()),
+                    ()-> assertEquals(1, index.search("led").total()),
+                    ()-> assertEquals(0, index.search("case").total(), "Removed product's tokens should be gone"),
+                    ()-> assertEquals(3, index.size())
+            );
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package products;
+
+import config.ApiConfig;
+import config.AsyncTransport;
+import config.Compression;
+import config.Json;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import stub.DummyJsonStub;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductsAsyncTests {
+    @BeforeAll
+    static void setup() {
+        ApiConfig.apply();   // the blocking client is used as the reference
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    private ProductsAsyncClient client;
+    @BeforeEach
+    void setUp()
+    {
+        client = new ProductsAsyncClient();
+    }
+
+    @Test
+    void getProductByIdAsync_ShouldReturnSameProductAsBlockingClient()
+    {
+        Product blocking = new ProductsClient().getProductById(1);
+        Product async = client.getProductById(1).join();
+
+        assertAll(
+                ()-> assertEquals(blocking.id(), async.id()),
+                ()-> assertEquals(blocking.title(), async.title()),
+                ()-> assertEquals(blocking.category(), async.category()),
+                ()-> assertEquals(blocking.price(), async.price())
+        );
+    }
+
+    @Test
+    void getProductByIdAsync_ShouldFanOutFromSingleThread()
+    {
+        List<CompletableFuture<Product>> futures = IntStream.rangeClosed(1, 30)
+                .mapToObj(client::getProductById)
+                .collect(Collectors.toList());
+
+        List<Product> products = futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+
+        assertAll(
+                ()-> assertEquals(30, products.size()),
+                ()-> assertEquals(IntStream.rangeClosed(1, 30).boxed().collect(Collectors.toList()),
+                        products.stream().map(Product::id).collect(Collectors.toList()), "Results should keep request order")
+        );
+    }
+
+    @Test
+    void searchAndCategoryAsync_ShouldReturnProducts()
+    {
+        CompletableFuture<ProductsResponse> search = client.searchProductsByName("phone");
+        CompletableFuture<ProductsResponse> category = client.getProductsByCategory("smartphones");
+
+        assertAll(
+                ()-> assertFalse(search.join().products().isEmpty(), "Search should return products"),
+                ()-> assertEquals("smartphones", category.join().products().get(0).category())
+        );
+    }
+
+    @Test
+    void http2Transport_ShouldServeConcurrentCalls_onAnyServer()
+    {
+        // dummyjson.com negotiates h2 via ALPN; the HTTP/1.1-only stub declines the upgrade and answers in 1.1
+        String baseUri = ApiConfig.baseUri();
+        AsyncTransport transport = new AsyncTransport(ApiConfig.newAsyncHttpClient(HttpClient.Version.HTTP_2),
+                baseUri, ApiConfig.transport().readTimeout());
+        ProductsAsyncClient http2 = new ProductsAsyncClient(transport);
+
+        List<Product> products = IntStream.rangeClosed(1, 20)
+                .mapToObj(http2::getProductById)
+                .collect(Collectors.toList())
+                .stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+        HttpClient.Version version = transport.send("GET", "/products/1", Map.of(), Map.of(), null).join().version();
+
+        // any other -Dapi.baseUri: the protocol depends on that server, only the results are checked
+        HttpClient.Version expected = ApiConfig.DUMMY_URL.equals(baseUri) ? HttpClient.Version.HTTP_2
+                : ApiConfig.isStub() ? HttpClient.Version.HTTP_1_1 : version;
+        assertAll(
+                ()-> assertEquals(IntStream.rangeClosed(1, 20).boxed().collect(Collectors.toList()),
+                        products.stream().map(Product::id).collect(Collectors.toList())),
+                ()-> assertEquals(expected, version, "Negotiated protocol for " + baseUri)
+        );
+    }
+
+    @Test
+    void asyncTransport_ShouldNegotiateGzip_andHandBackDecodedBody()
+    {
+        HttpResponse<byte[]> response = ApiConfig.asyncTransport()
+                .send("GET", "/products/category/smartphones", Map.of(), Map.of(), null).join();
+
+        assertAll(
+                ()-> assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                        "A listing this size should be sent compressed"),
+                ()-> assertEquals("smartphones",
+                        Json.read(response.body(), ProductsResponse.class).products().get(0).category())
+        );
+    }
+
+    @Test
+    void gzipRequestBody_ShouldBeDecodedByStub() throws IOException, InterruptedException
+    {
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            byte[] json = Json.write(Map.of("title", "Compressed phone", "price", 10));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(stub.baseUri() + "/products/add"))
+                    .header("Content-Type", "application/json")
+                    .header("Content-Encoding", "gzip")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(Compression.gzip(json)))
+                    .build();
+
+            HttpResponse<byte[]> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            assertAll(
+                    ()-> assertEquals(201, response.statusCode()),
+                    ()-> assertEquals("Compressed phone", Json.read(response.body(), Product.class).title())
+            );
+        }
+    }
+}
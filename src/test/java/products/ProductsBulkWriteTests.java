@@ -0,0 +1,167 @@
+package products;
+
+import config.ApiConfig;
+import config.SharedResources;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ResourceLock(SharedResources.PRODUCTS)
+public class ProductsBulkWriteTests {
+
+    @BeforeAll
+    static void warmUp() {
+        // the first ResponseBuilder pays for Groovy's startup; keep that out of the timed tests
+        ok("{}");
+    }
+
+    private static Response ok(String body) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(body).build();
+    }
+
+    private static UpdateProductRequest price(int price) {
+        UpdateProductRequest request = new UpdateProductRequest();
+        request.setTitle("Bulk " + price);
+        request.setPrice(price);
+        return request;
+    }
+
+    @Test
+    void bulkWrite_ShouldReportEveryOperation_inSubmissionOrder()
+    {
+        ProductsClient client = new ProductsClient();
+
+        Stream<ProductWrite> writes = Stream.of(
+                ProductWrite.create(new Product(0, "Bulk phone", null, 10, 0, 0, 0, null, null, null, null)),
+                ProductWrite.update(1, price(11)),
+                ProductWrite.delete(2),
+                ProductWrite.update(999999, price(12)));
+
+        BulkWriteResult result = client.bulkWrite(writes, 4);
+
+        List<BulkWriteResult.Op> ops = result.ops();
+        assertAll(
+                ()-> assertEquals(4, ops.size()),
+                ()-> assertEquals(List.of(0, 1, 2, 3), ops.stream().map(BulkWriteResult.Op::index).toList()),
+                ()-> assertEquals("Bulk phone", ops.get(0).product().title()),
+                ()-> assertEquals(11, ops.get(1).product().price()),
+                ()-> assertEquals(Boolean.TRUE, ops.get(2).product().isDeleted()),
+                ()-> assertEquals(404, ops.get(3).status(), "Unknown id should fail on its own"),
+                ()-> assertNull(ops.get(3).product()),
+                ()-> assertEquals(3, result.succeeded()),
+                ()-> assertEquals(1, result.failed()),
+                ()-> assertTrue(ops.stream().allMatch(op -> op.latencyNanos() > 0)),
+                ()-> assertTrue(result.summary().startsWith("4 ops in"), result.summary())
+        );
+    }
+
+    @Test
+    void bulkWrite_ShouldKeepOrderPerProductId()
+    {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        BulkWriter writer = new BulkWriter(write -> {
+            // the first write per id is the slowest: a reordering would show up immediately
+            if (write instanceof ProductWrite.Update update) {
+                sleep(update.request().getPrice() == 0 ? 50 : 1);
+                executed.add(update.id() + ":" + update.request().getPrice());
+            } else if (write instanceof ProductWrite.Delete delete) {
+                executed.add(delete.id() + ":delete");
+            }
+            return ok("{\"id\":1}");
+        }, ApiConfig.executor(), 8);
+
+        List<ProductWrite> writes = new ArrayList<>();
+        for (int round = 0; round < 3; round++) {
+            for (int id = 1; id <= 4; id++) {
+                writes.add(ProductWrite.update(id, price(round)));
+            }
+        }
+        IntStream.rangeClosed(1, 4).forEach(id -> writes.add(ProductWrite.delete(id)));
+
+        BulkWriteResult result = writer.run(writes.iterator());
+
+        assertEquals(16, result.succeeded());
+        for (int id = 1; id <= 4; id++) {
+            String prefix = id + ":";
+            assertEquals(List.of(prefix + 0, prefix + 1, prefix + 2, prefix + "delete"),
+                    executed.stream().filter(op -> op.startsWith(prefix)).toList(),
+                    "Writes to product " + id + " should run in submission order");
+        }
+    }
+
+    @Test
+    void bulkWrite_ShouldNeverExceedMaxConcurrency()
+    {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        BulkWriter writer = new BulkWriter(write -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(5);
+            inFlight.decrementAndGet();
+            return ok("{\"id\":1}");
+        }, ApiConfig.executor(), 3);
+
+        BulkWriteResult result = writer.run(IntStream.rangeClosed(1, 30)
+                .mapToObj(id -> ProductWrite.delete(id)).iterator());
+
+        assertAll(
+                ()-> assertEquals(30, result.succeeded()),
+                ()-> assertTrue(peak.get() <= 3, "Peak concurrency was " + peak.get()),
+                ()-> assertTrue(peak.get() > 1, "Independent ids should run in parallel")
+        );
+    }
+
+    @Test
+    void bulkWrite_QueuedWritesToOneId_ShouldNotHoldSendSlots()
+    {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        BulkWriter writer = new BulkWriter(write -> {
+            if (write instanceof ProductWrite.Update update) {
+                sleep(20);
+                executed.add("update:" + update.request().getPrice());
+            } else if (write instanceof ProductWrite.Delete delete) {
+                executed.add("delete:" + delete.id());
+            }
+            return ok("{\"id\":1}");
+        }, ApiConfig.executor(), 4);
+
+        List<ProductWrite> writes = new ArrayList<>();
+        IntStream.range(0, 8).forEach(i -> writes.add(ProductWrite.update(1, price(i))));
+        IntStream.rangeClosed(2, 9).forEach(id -> writes.add(ProductWrite.delete(id)));
+
+        BulkWriteResult result = writer.run(writes.iterator());
+
+        // the updates to product 1 run one at a time and only ever hold one slot; the other three serve
+        // the deletes right away instead of after the fourth update
+        int lastDelete = 0;
+        for (int i = 0; i < executed.size(); i++) {
+            if (executed.get(i).startsWith("delete:")) {
+                lastDelete = i;
+            }
+        }
+        int deletesDone = lastDelete;
+        assertAll(
+                ()-> assertEquals(16, result.succeeded()),
+                ()-> assertTrue(deletesDone < executed.indexOf("update:2"), "Order was " + executed)
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package products;
+
+import cache.CacheStats;
+import cache.LruResponseCache;
+import cache.MappedFileResponseCache;
+import cache.ReadThroughCache;
+import config.ApiConfig;
+import config.SharedResources;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductsCacheTests {
+    @BeforeAll
+    static void setup() {
+        ApiConfig.apply();
+        System.out.println("baseURI = " + ApiConfig.baseUri());
+    }
+
+    private static ProductsClient cachingClient(int maxEntries, Duration ttl) {
+        return new ProductsClient(ApiConfig.requestSpec(),
+                new ReadThroughCache(new LruResponseCache(maxEntries), ttl));
+    }
+
+    private static Response ok(String body) {
+        return new ResponseBuilder().setStatusCode(200).setHeaders(new Headers()).setBody(body).build();
+    }
+
+    @Test
+    void getProductById_ShouldBeServedFromCache_onSecondRead()
+    {
+        ProductsClient client = cachingClient(100, Duration.ofMinutes(5));
+
+        Product first = client.getProductById(1);
+        Product second = client.getProductById(1);
+
+        CacheStats stats = client.cacheStats();
+        assertAll(
+                ()-> assertEquals(first.title(), second.title()),
+                ()-> assertEquals(1, stats.misses(), "First read should go to the network"),
+                ()-> assertEquals(1, stats.hits(), "Second read should be a cache hit")
+        );
+    }
+
+    @Test
+    void staleEntry_ShouldBeRevalidatedWithEtag()
+    {
+        // ttl 0 → every read asks the server, but an unchanged body comes back as 304
+        ProductsClient client = cachingClient(100, Duration.ZERO);
+
+        client.getProductsByCategory("smartphones");
+        ProductsResponse again = client.getProductsByCategory("smartphones");
+
+        CacheStats stats = client.cacheStats();
+        assertAll(
+                ()-> assertFalse(again.products().isEmpty()),
+                ()-> assertEquals(1, stats.misses()),
+                ()-> assertEquals(1, stats.revalidations(), "Second read should be a 304 revalidation")
+        );
+    }
+
+    @Test
+    @ResourceLock(SharedResources.PRODUCTS)
+    void updateProduct_ShouldInvalidateCachedReads()
+    {
+        ProductsClient client = new ProductsClient(ApiConfig.requestSpec(), new ReadThroughCache(
+                new LruResponseCache(100), Duration.ofMinutes(5), Map.of("/products/search", Duration.ofMinutes(1))));
+
+        client.getProductById(1);
+        client.searchProductsByName("phone");
+        UpdateProductRequest update = new UpdateProductRequest();
+        update.setTitle("Sofa");
+        client.updateProduct(1, update);
+        client.getProductById(1);
+        client.searchProductsByName("phone");
+
+        assertAll(
+                ()-> assertEquals(0, client.cacheStats().hits(), "Reads after a write should not be served from cache"),
+                ()-> assertEquals(4, client.cacheStats().misses())
+        );
+    }
+
+    @Test
+    void fetchRacingAnInvalidation_ShouldNotBeCached()
+    {
+        ReadThroughCache cache = new ReadThroughCache(new LruResponseCache(10), Duration.ofMinutes(5));
+        String key = "/products/1";
+
+        // the write's invalidation lands while the read is still on the network with the old body
+        cache.get("/products/{id}", key, etag -> {
+            cache.invalidate(key);
+            return ok("{\"id\":1,\"title\":\"old\"}");
+        });
+        ReadThroughCache.Result next = cache.get("/products/{id}", key, etag -> ok("{\"id\":1,\"title\":\"new\"}"));
+
+        assertAll(
+                ()-> assertEquals("{\"id\":1,\"title\":\"new\"}", new String(next.body(), StandardCharsets.UTF_8)),
+                ()-> assertEquals(2, cache.stats().misses(), "The racing read must not have been cached")
+        );
+    }
+
+    @Test
+    void mutatingAResultBody_ShouldNotChangeTheCachedEntry()
+    {
+        ReadThroughCache cache = new ReadThroughCache(new LruResponseCache(10), Duration.ofMinutes(5));
+        String key = "/products/1";
+
+        ReadThroughCache.Result first = cache.get("/products/{id}", key, etag -> ok("{\"id\":1}"));
+        first.body()[0] = 'X';
+        ReadThroughCache.Result hit = cache.get("/products/{id}", key, etag -> ok("{\"id\":2}"));
+        hit.body()[0] = 'Y';
+        ReadThroughCache.Result again = cache.get("/products/{id}", key, etag -> ok("{\"id\":3}"));
+
+        assertAll(
+                ()-> assertEquals("{\"id\":1}", new String(again.body(), StandardCharsets.UTF_8)),
+                ()-> assertEquals(2, cache.stats().hits())
+        );
+    }
+
+    @Test
+    void lruCache_ShouldEvictLeastRecentlyUsed_whenFull()
+    {
+        ProductsClient client = cachingClient(2, Duration.ofMinutes(5));
+
+        client.getProductById(1);
+        client.getProductById(2);
+        client.getProductById(1);   // 1 is now most recently used
+        client.getProductById(3);   // evicts 2
+        client.getProductById(1);
+
+        CacheStats stats = client.cacheStats();
+        assertAll(
+                ()-> assertEquals(2, stats.size()),
+                ()-> assertEquals(1, stats.evictions()),
+                ()-> assertEquals(2, stats.hits(), "Product 1 should stay cached")
+        );
+    }
+
+    @Test
+    void diskCache_ShouldServeTheNextRunWithoutNetwork(@TempDir Path dir)
+    {
+        Path file = dir.resolve("products.cache");
+        try (MappedFileResponseCache store = MappedFileResponseCache.open(file)) {
+            new ProductsClient(ApiConfig.requestSpec(), new ReadThroughCache(store, Duration.ofMinutes(5)))
+                    .getProductById(1);
+        }
+
+        // a "new run": fresh store instance and client, only the file is shared
+        try (MappedFileResponseCache store = MappedFileResponseCache.open(file)) {
+            ProductsClient client = new ProductsClient(ApiConfig.requestSpec(),
+                    new ReadThroughCache(store, Duration.ofMinutes(5)));
+            Product product = client.getProductById(1);
+
+            CacheStats stats = client.cacheStats();
+            assertAll(
+                    ()-> assertEquals(1, product.id()),
+                    ()-> assertEquals(1, stats.hits(), "Read should come from the file"),
+                    ()-> assertEquals(0, stats.misses())
+            );
+        }
+    }
+}
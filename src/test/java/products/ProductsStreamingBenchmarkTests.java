@@ -0,0 +1,82 @@
+package products;
+
+import config.ApiConfig;
+import config.AsyncTransport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+import stub.DummyJsonStub;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bytes allocated (all threads) for one limit=0 pull of a 5000-product catalogue:
+// RestAssured .as(ProductsResponse.class) vs ProductStreamReader.
+// Run with: mvn test -Pbench
+@Isolated
+@Tag("benchmark")
+public class ProductsStreamingBenchmarkTests {
+
+    private static final int CATALOGUE = 5_000;
+    private static final int ROUNDS = 10;
+
+    private static DummyJsonStub stub;
+    private static ProductsClient client;
+    private static ProductStreamReader reader;
+
+    @BeforeAll
+    static void startStub() {
+        stub = DummyJsonStub.start(0, CATALOGUE);
+        client = new ProductsClient(ApiConfig.requestSpec(stub.baseUri()));
+        reader = new ProductStreamReader(new AsyncTransport(ApiConfig.asyncTransport().httpClient(), stub.baseUri(),
+                ApiConfig.transport().readTimeout()));
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @Test
+    void streamingParse_shouldAllocateLessThanFullDeserialization() {
+        Runnable full = () -> assertEquals(CATALOGUE, client.getProducts(0, 0).products().size());
+        Runnable streamed = () -> {
+            AtomicInteger count = new AtomicInteger();
+            reader.readAllProducts(p -> count.incrementAndGet());
+            assertEquals(CATALOGUE, count.get());
+        };
+
+        full.run();
+        streamed.run();
+
+        long fullBytes = allocatedPerRun(full);
+        long streamedBytes = allocatedPerRun(streamed);
+
+        System.out.printf("limit=0 pull of %d products (allocated per call)%n", CATALOGUE);
+        System.out.printf("  RestAssured .as(...) : %,8d KB%n", fullBytes / 1024);
+        System.out.printf("  ProductStreamReader  : %,8d KB  (x%.2f)%n", streamedBytes / 1024, (double) fullBytes / streamedBytes);
+
+        assertTrue(streamedBytes < fullBytes, "Streaming parse should allocate less");
+    }
+
+    private static long allocatedPerRun(Runnable run) {
+        long before = allocatedBytes();
+        for (int i = 0; i < ROUNDS; i++) {
+            run.run();
+        }
+        return (allocatedBytes() - before) / ROUNDS;
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+}
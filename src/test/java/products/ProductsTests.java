@@ -1,11 +1,22 @@
 package products;
 
 import config.ApiConfig;
+import config.SharedResources;
 import io.restassured.RestAssured;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+import stub.DummyJsonStub;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -25,18 +36,98 @@ public class ProductsTests {
 
 
    @Test
+   @ResourceLock(value = SharedResources.PRODUCTS, mode = ResourceAccessMode.READ)
     void getAllProductsTest_ShouldReturnAllProducts()
     {
 
         ProductsResponse response = client.getAllProducts(); // GET + deserialization
 
         assertAll(
-                ()-> assertTrue(response.getTotal()>0),
-                ()-> assertTrue(response.getSkip()>=0),
-                ()-> assertTrue(response.getLimit()>0),
-                ()-> assertNotNull(response.getProducts()),
-                ()-> assertFalse(response.getProducts().isEmpty()),
-                ()-> assertTrue(response.getProducts().size()<= response.getLimit())
+                ()-> assertTrue(response.total()>0),
+                ()-> assertTrue(response.skip()>=0),
+                ()-> assertTrue(response.limit()>0),
+                ()-> assertNotNull(response.products()),
+                ()-> assertFalse(response.products().isEmpty()),
+                ()-> assertTrue(response.products().size()<= response.limit())
+        );
+    }
+
+    @Test
+    @ResourceLock(value = SharedResources.PRODUCTS, mode = ResourceAccessMode.READ)
+    void streamAllProducts_ShouldWalkEveryPage()
+    {
+        int total = client.getAllProducts().total();
+
+        List<Integer> ids;
+        try (Stream<Product> products = client.streamAllProducts(7)) {
+            ids = products.map(Product::id).collect(Collectors.toList());
+        }
+
+        assertAll(
+                ()-> assertEquals(total, ids.size(), "Stream should return every product exactly once"),
+                ()-> assertEquals(total, ids.stream().distinct().count(), "Product ids should not repeat across pages"),
+                ()-> assertEquals(IntStream.rangeClosed(1, total).boxed().collect(Collectors.toList()), ids, "Pages should keep catalogue order")
+        );
+    }
+
+    @Test
+    void streamAllProducts_ShouldProjectSelectedFields()
+    {
+        List<Product> products;
+        try (Stream<Product> stream = client.streamAllProducts(50, "title", "price")) {
+            products = stream.limit(60).collect(Collectors.toList());
+        }
+
+        Product first = products.get(0);
+        assertAll(
+                ()-> assertEquals(60, products.size()),
+                ()-> assertTrue(first.id() > 0, "id is always returned"),
+                ()-> assertNotNull(first.title(), "Selected field should be present"),
+                ()-> assertNull(first.category(), "Fields outside select should not be sent")
+        );
+    }
+
+    @Test
+    void productStreamReader_ShouldEmitEveryProduct_withoutBuildingAList()
+    {
+        ProductsResponse everything = client.getProducts(0, 0);
+        List<Integer> streamedIds = new ArrayList<>();
+
+        ProductStreamReader.Listing listing = new ProductStreamReader().readAllProducts(p -> streamedIds.add(p.id()));
+
+        assertAll(
+                ()-> assertEquals(everything.total(), listing.total()),
+                ()-> assertEquals(everything.products().size(), listing.emitted()),
+                ()-> assertEquals(everything.products().stream().map(Product::id).collect(Collectors.toList()), streamedIds)
+        );
+    }
+
+    @Test
+    void getProductsByIds_ShouldDedupeKeepOrder_andReportMissingIds()
+    {
+        Map<Integer, ProductLookup> results = client.getProductsByIds(List.of(3, 1, 3, 99999, 2), 2);
+
+        assertAll(
+                ()-> assertEquals(List.of(3, 1, 99999, 2), new ArrayList<>(results.keySet()), "Ids should be deduped, in request order"),
+                ()-> assertTrue(results.get(3).isFound()),
+                ()-> assertEquals(1, results.get(1).product().id()),
+                ()-> assertFalse(results.get(99999).isFound(), "Unknown id should be reported, not thrown"),
+                ()-> assertTrue(results.get(99999).error().getMessage().contains("404")),
+                ()-> assertTrue(results.get(2).isFound(), "Later ids should still be fetched after a failure")
+        );
+    }
+
+    @Test
+    void getProductsByIds_ShouldFetchLargeBatch_withBoundedConcurrency()
+    {
+        List<Integer> ids = IntStream.rangeClosed(1, 100).map(i -> (i % 50) + 1).boxed().collect(Collectors.toList());
+
+        Map<Integer, ProductLookup> results = client.getProductsByIds(ids, 8);
+
+        assertAll(
+                ()-> assertEquals(50, results.size()),
+                ()-> assertTrue(results.values().stream().allMatch(ProductLookup::isFound)),
+                ()-> assertTrue(results.entrySet().stream().allMatch(e -> e.getKey() == e.getValue().product().id()))
         );
     }
 
@@ -49,11 +140,11 @@ public class ProductsTests {
 
         assertAll(
                 ()-> assertNotNull(product),
-                ()-> assertEquals(id,product.getId()),
-                ()-> assertNotNull(product.getTitle()),
-                ()-> assertFalse(product.getTitle().isBlank()),
-                ()-> assertNotNull(product.getCategory()),
-                ()-> assertTrue(product.getPrice()>=0)
+                ()-> assertEquals(id,product.id()),
+                ()-> assertNotNull(product.title()),
+                ()-> assertFalse(product.title().isBlank()),
+                ()-> assertNotNull(product.category()),
+                ()-> assertTrue(product.price()>=0)
         );
     }
 
@@ -64,16 +155,16 @@ public class ProductsTests {
         ProductsResponse response = client.searchProductsByName(query);
         assertAll(
                 ()-> assertNotNull(response, "Response should not be null"),
-                ()-> assertNotNull(response.getProducts(), "Products list should not be null"),
-                ()-> assertFalse(response.getProducts().isEmpty(), "Products list should not be empty"),
-                () -> assertTrue(response.getTotal() >= response.getProducts().size(), "Total should be >= products.size()")
+                ()-> assertNotNull(response.products(), "Products list should not be null"),
+                ()-> assertFalse(response.products().isEmpty(), "Products list should not be empty"),
+                () -> assertTrue(response.total() >= response.products().size(), "Total should be >= products.size()")
         );
 
-        Product firstProduct = response.getProducts().get(0);
+        Product firstProduct = response.products().get(0);
         assertAll(
-                ()-> assertNotEquals(0, firstProduct.getId(), "Product id should not be 0"),
-                () -> assertNotNull(firstProduct.getTitle(), "Product title should not be null"),
-                () -> assertFalse(firstProduct.getTitle().isBlank(), "Product title should not be blank")
+                ()-> assertNotEquals(0, firstProduct.id(), "Product id should not be 0"),
+                () -> assertNotNull(firstProduct.title(), "Product title should not be null"),
+                () -> assertFalse(firstProduct.title().isBlank(), "Product title should not be blank")
         );
     }
 
@@ -86,43 +177,42 @@ public class ProductsTests {
 
         assertAll(
                 ()-> assertNotNull(response, "Response should not be null"),
-                ()-> assertNotNull(response.getProducts(), "Products list should not be null"),
-                ()-> assertFalse(response.getProducts().isEmpty(), "Products list should not be empty"),
-                () -> assertTrue(response.getTotal() >= response.getProducts().size(), "Total should be >= products.size()")
+                ()-> assertNotNull(response.products(), "Products list should not be null"),
+                ()-> assertFalse(response.products().isEmpty(), "Products list should not be empty"),
+                () -> assertTrue(response.total() >= response.products().size(), "Total should be >= products.size()")
         );
 
-        Product firstProduct = response.getProducts().get(0);
+        Product firstProduct = response.products().get(0);
         assertAll(
-                ()-> assertEquals(category, firstProduct.getCategory(), "Product category should match requested category"),
-                ()-> assertNotEquals(0, firstProduct.getId(), "Product id should not be 0"),
-                () -> assertNotNull(firstProduct.getTitle(), "Product title should not be null"),
-                () -> assertFalse(firstProduct.getTitle().isBlank(), "Product title should not be blank")
+                ()-> assertEquals(category, firstProduct.category(), "Product category should match requested category"),
+                ()-> assertNotEquals(0, firstProduct.id(), "Product id should not be 0"),
+                () -> assertNotNull(firstProduct.title(), "Product title should not be null"),
+                () -> assertFalse(firstProduct.title().isBlank(), "Product title should not be blank")
         );
     }
 
     @Test
+    @ResourceLock(SharedResources.PRODUCTS)
     void addProduct_shouldReturnCreatedProduct()
     {
 
-        // Create request object (POJO)
-        Product reqObj = new Product();
-        reqObj.setTitle("S-class");
-        reqObj.setPrice(1234);
-        reqObj.setDiscountPercentage(20);
+        // Create request object (record: id, title, description, price, discountPercentage, ...)
+        Product reqObj = new Product(0, "S-class", null, 1234, 20, 0, 0, null, null, null, null);
 
 
         // POST request (serialization + deserialization)
         Product createdProduct = client.addProduct(reqObj);
         assertAll(
                 ()-> assertNotNull(createdProduct),
-                ()-> assertTrue(createdProduct.getId()>0, "Created product id should be greater than 0"),
-                () -> assertEquals(reqObj.getTitle(), createdProduct.getTitle()),
-                () -> assertEquals(reqObj.getPrice(), createdProduct.getPrice()),
-                () -> assertEquals(reqObj.getDiscountPercentage(), createdProduct.getDiscountPercentage())
+                ()-> assertTrue(createdProduct.id()>0, "Created product id should be greater than 0"),
+                () -> assertEquals(reqObj.title(), createdProduct.title()),
+                () -> assertEquals(reqObj.price(), createdProduct.price()),
+                () -> assertEquals(reqObj.discountPercentage(), createdProduct.discountPercentage())
         );
     }
 
     @Test
+    @ResourceLock(SharedResources.PRODUCTS)
     void updateProduct_shouldReturnUpdatedProduct()
     {
         int id=1;
@@ -133,14 +223,15 @@ public class ProductsTests {
         Product updatedProduct = client.updateProduct(id,reqUpd);
         assertAll(
                 ()-> assertNotNull(updatedProduct),
-                ()-> assertEquals(id,updatedProduct.getId()),
-                ()-> assertEquals(reqUpd.getTitle(),updatedProduct.getTitle()),
-                ()-> assertEquals(reqUpd.getPrice(),updatedProduct.getPrice())
+                ()-> assertEquals(id,updatedProduct.id()),
+                ()-> assertEquals(reqUpd.getTitle(),updatedProduct.title()),
+                ()-> assertEquals(reqUpd.getPrice(),updatedProduct.price())
         );
     }
 
 
     @Test
+    @ResourceLock(SharedResources.PRODUCTS)
     void deleteProduct_shouldReturnUpdatedProduct()
     {
         int id=1;
@@ -148,9 +239,41 @@ public class ProductsTests {
 
         assertAll(
                 ()-> assertNotNull(deletedProduct),
-                ()-> assertEquals(id,deletedProduct.getId()),
-                ()-> assertTrue(deletedProduct.getIsDeleted()),
-                () -> assertNotNull(deletedProduct.getDeletedOn())
+                ()-> assertEquals(id,deletedProduct.id()),
+                ()-> assertTrue(deletedProduct.isDeleted()),
+                () -> assertNotNull(deletedProduct.deletedOn())
         );
     }
+
+    @Test
+    void getProductById_ShouldBeSafeFromManyThreads()
+    {
+        // blocking client shared by 50 concurrent callers (virtual threads with -Pjava21)
+        List<CompletableFuture<Product>> futures = IntStream.rangeClosed(1, 50)
+                .mapToObj(id -> CompletableFuture.supplyAsync(() -> client.getProductById(id), ApiConfig.executor()))
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1, futures.get(i).join().id(), "Each caller should get its own product back");
+        }
+    }
+
+    @Test
+    void clients_ShouldTargetDifferentBackends_inOneJvm()
+    {
+        // second backend next to the configured one; nothing goes through RestAssured.baseURI
+        try (DummyJsonStub other = DummyJsonStub.start(0)) {
+            ProductsClient otherClient = new ProductsClient(ApiConfig.requestSpec(other.baseUri()));
+
+            CompletableFuture<Product> fromConfigured = CompletableFuture.supplyAsync(() -> client.getProductById(1), ApiConfig.executor());
+            CompletableFuture<Product> fromOther = CompletableFuture.supplyAsync(() -> otherClient.getProductById(1), ApiConfig.executor());
+
+            assertAll(
+                    ()-> assertEquals(1, fromConfigured.join().id()),
+                    ()-> assertEquals(1, fromOther.join().id()),
+                    // only otherClient knows this stub, so the configured client's call cannot have landed here
+                    ()-> assertEquals(1, other.requestCount(), "otherClient should have called its own backend")
+            );
+        }
+    }
 }
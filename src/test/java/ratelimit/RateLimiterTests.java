@@ -0,0 +1,117 @@
+package ratelimit;
+
+import config.ApiConfig;
+import org.junit.jupiter.api.Test;
+import products.ProductsClient;
+import stub.DummyJsonStub;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTests {
+
+    private static RateLimitConfig limit(double rps, int burst, int maxInFlight) {
+        return new RateLimitConfig(rps, burst, maxInFlight, Map.of(), 1, 0, 0.5, 1);
+    }
+
+    private static long millisToAcquire(RequestGovernor governor, int requests) {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            governor.acquire("GET /products/{id}");
+            governor.release();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    void tokenBucket_ShouldPaceRequests_afterTheBurst()
+    {
+        RequestGovernor governor = new RequestGovernor(limit(20, 1, 10));
+
+        // 1 from the burst, then 10 more at 20/s
+        long elapsed = millisToAcquire(governor, 11);
+
+        assertTrue(elapsed >= 450, "11 requests at 20 req/s should take about 500 ms, took " + elapsed);
+    }
+
+    @Test
+    void tooManyRequests_ShouldPauseForRetryAfter_andHalveTheRate()
+    {
+        RequestGovernor governor = new RequestGovernor(limit(100, 1, 10));
+
+        governor.onResponse("GET /products/{id}", 429, "1");
+        long elapsed = millisToAcquire(governor, 1);
+
+        assertAll(
+                ()-> assertTrue(elapsed >= 900, "Next request should wait for Retry-After: 1, waited " + elapsed),
+                ()-> assertEquals(50, governor.rate(), 0.001, "429 should halve the rate")
+        );
+    }
+
+    @Test
+    void successfulResponses_ShouldRaiseTheRate_additively()
+    {
+        RequestGovernor governor = new RequestGovernor(limit(10, 1, 10));
+
+        for (int i = 0; i < 10; i++) {
+            governor.onResponse("GET /products/{id}", 200, null);
+        }
+
+        // +1/rate per success: ten successes at ~10 req/s ≈ +1 req/s
+        assertEquals(11, governor.rate(), 0.1);
+    }
+
+    @Test
+    void maxInFlight_ShouldBlockUntilASlotIsReleased() throws Exception
+    {
+        RequestGovernor governor = new RequestGovernor(limit(0, 1, 2));
+        governor.acquire("GET /products");
+        governor.acquire("GET /products");
+
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> governor.acquire("GET /products"));
+        Thread.sleep(100);
+        assertFalse(third.isDone(), "A third request must wait while two are in flight");
+
+        governor.release();
+        third.get(1, TimeUnit.SECONDS);
+        assertEquals(0, governor.availableSlots());
+    }
+
+    @Test
+    void retryAfter_ShouldAcceptSecondsAndHttpDates()
+    {
+        String inTwoSeconds = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(2));
+
+        assertAll(
+                ()-> assertEquals(TimeUnit.SECONDS.toNanos(3), RequestGovernor.retryAfterNanos("3")),
+                ()-> assertTrue(RequestGovernor.retryAfterNanos(inTwoSeconds) > TimeUnit.MILLISECONDS.toNanos(500)),
+                ()-> assertEquals(0, RequestGovernor.retryAfterNanos("soon")),
+                ()-> assertEquals(0, RequestGovernor.retryAfterNanos(null))
+        );
+    }
+
+    @Test
+    void clients_ShouldBePacedPerBaseUri()
+    {
+        try (DummyJsonStub stub = DummyJsonStub.start(0)) {
+            RateLimiters.configure(stub.baseUri(), limit(10, 1, 4));
+            // two separate clients share the backend's limit
+            ProductsClient first = new ProductsClient(ApiConfig.requestSpec(stub.baseUri()));
+            ProductsClient second = new ProductsClient(ApiConfig.requestSpec(stub.baseUri()));
+
+            long start = System.nanoTime();
+            for (int i = 1; i <= 3; i++) {
+                first.getProductById(i);
+                second.getProductById(i);
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(elapsed >= 450, "6 requests at 10 req/s (burst 1) should take about 500 ms, took " + elapsed);
+        }
+    }
+}
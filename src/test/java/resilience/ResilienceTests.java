@@ -0,0 +1,203 @@
+package resilience;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import metrics.ApiMetrics;
+import metrics.EndpointMetrics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Policies are exercised with canned responses, so no backend is involved.
+public class ResilienceTests {
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+
+    private static final RetryPolicy FAST_RETRY = RetryPolicy.exponential(3, Duration.ofMillis(1), Duration.ofMillis(5));
+    private static final CircuitBreaker.Config BREAKER = new CircuitBreaker.Config(50, 4, 4, Duration.ofMillis(200), 1);
+
+    @BeforeAll
+    static void warmUp() {
+        status(200);   // first RestAssured response loads Groovy, which would distort the timing test
+    }
+
+    @AfterAll
+    static void tearDown() {
+        EXECUTOR.shutdownNow();
+    }
+
+    private static Response status(int code) {
+        return new ResponseBuilder().setStatusCode(code).setBody("{}").build();
+    }
+
+    // answers with the given status codes in order, then keeps repeating the last one
+    private static Supplier<Response> answers(AtomicInteger calls, int... codes) {
+        return () -> status(codes[Math.min(calls.getAndIncrement(), codes.length - 1)]);
+    }
+
+    private static Resilience resilience(ApiMetrics metrics, EndpointPolicy policy) {
+        return new Resilience(policy, Map.of(), metrics, EXECUTOR);
+    }
+
+    @Test
+    void get_ShouldBeRetried_onTransient5xx()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(FAST_RETRY, HedgePolicy.none(), CircuitBreaker.Config.disabled()));
+        AtomicInteger calls = new AtomicInteger();
+
+        Response response = resilience.execute("GET", "/products/{id}", answers(calls, 503, 502, 200));
+
+        assertAll(
+                ()-> assertEquals(200, response.statusCode()),
+                ()-> assertEquals(3, calls.get()),
+                ()-> assertEquals(2, metrics.endpoint("GET", "/products/{id}").retries())
+        );
+    }
+
+    @Test
+    void post_ShouldNotBeRetried()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(FAST_RETRY, HedgePolicy.none(), CircuitBreaker.Config.disabled()));
+        AtomicInteger calls = new AtomicInteger();
+
+        Response response = resilience.execute("POST", "/products/add", answers(calls, 503, 200));
+
+        assertAll(
+                ()-> assertEquals(503, response.statusCode(), "The 5xx should be handed back unchanged"),
+                ()-> assertEquals(1, calls.get(), "A non-idempotent request must be sent once")
+        );
+    }
+
+    @Test
+    void throttled_ShouldBeRetried_forGetsOnly()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(FAST_RETRY, HedgePolicy.none(), CircuitBreaker.Config.disabled()));
+        AtomicInteger gets = new AtomicInteger();
+        AtomicInteger posts = new AtomicInteger();
+
+        Response get = resilience.execute("GET", "/products/{id}", answers(gets, 429, 200));
+        Response post = resilience.execute("POST", "/products/add", answers(posts, 429, 200));
+
+        assertAll(
+                ()-> assertEquals(200, get.statusCode()),
+                ()-> assertEquals(2, gets.get()),
+                ()-> assertEquals(429, post.statusCode(), "A throttled write should be handed back"),
+                ()-> assertEquals(1, posts.get(), "A write may already have been forwarded: never resent")
+        );
+    }
+
+    @Test
+    void circuitBreaker_ShouldFailFast_whileOpen_andCloseAfterSuccessfulProbe() throws InterruptedException
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(RetryPolicy.none(), HedgePolicy.none(), BREAKER));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> down = answers(calls, 500);
+
+        for (int i = 0; i < 4; i++) {
+            resilience.execute("GET", "/auth/me", down);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, resilience.breakerState("GET", "/auth/me"));
+        assertThrows(CircuitOpenException.class, () -> resilience.execute("GET", "/auth/me", down));
+        assertEquals(4, calls.get(), "No request should be sent while the circuit is open");
+
+        Thread.sleep(250);
+        Response probe = resilience.execute("GET", "/auth/me", () -> status(200));
+
+        EndpointMetrics endpoint = metrics.endpoint("GET", "/auth/me");
+        assertAll(
+                ()-> assertEquals(200, probe.statusCode()),
+                ()-> assertEquals(CircuitBreaker.State.CLOSED, resilience.breakerState("GET", "/auth/me")),
+                ()-> assertEquals(1, endpoint.shortCircuits())
+        );
+    }
+
+    @Test
+    void retryRejectedByTheBreaker_ShouldHandBackTheLast5xx()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(FAST_RETRY, HedgePolicy.none(), BREAKER));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> down = answers(calls, 503);
+
+        resilience.execute("GET", "/products/{id}", down);   // three failed attempts, window not full yet
+        // the first attempt fills the window and opens the circuit; its retry is refused
+        Response response = resilience.execute("GET", "/products/{id}", down);
+
+        assertAll(
+                ()-> assertEquals(503, response.statusCode(), "The caller should see the real answer"),
+                ()-> assertEquals(4, calls.get()),
+                ()-> assertEquals(CircuitBreaker.State.OPEN, resilience.breakerState("GET", "/products/{id}")),
+                ()-> assertEquals(1, metrics.endpoint("GET", "/products/{id}").shortCircuits())
+        );
+    }
+
+    @Test
+    void nonTransientException_ShouldNotCountAgainstTheBreaker()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        Resilience resilience = resilience(metrics, new EndpointPolicy(FAST_RETRY, HedgePolicy.none(), BREAKER));
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Response> broken = () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("mapping bug");
+        };
+
+        for (int i = 0; i < 10; i++) {
+            assertThrows(IllegalStateException.class, () -> resilience.execute("GET", "/products/{id}", broken));
+        }
+
+        assertAll(
+                ()-> assertEquals(CircuitBreaker.State.CLOSED, resilience.breakerState("GET", "/products/{id}")),
+                ()-> assertEquals(10, calls.get(), "A non-transient exception should not be retried"),
+                ()-> assertEquals(200, resilience.execute("GET", "/products/{id}", () -> status(200)).statusCode())
+        );
+    }
+
+    @Test
+    void slowRequest_ShouldBeHedged_andTheFasterCopyWins()
+    {
+        ApiMetrics metrics = new ApiMetrics();
+        HedgePolicy hedge = new HedgePolicy(95, Duration.ofMillis(20), 0);
+        Resilience resilience = resilience(metrics, new EndpointPolicy(RetryPolicy.none(), hedge, CircuitBreaker.Config.disabled()));
+        AtomicInteger calls = new AtomicInteger();
+
+        // first copy hangs for a second, the hedge answers at once
+        long start = System.nanoTime();
+        Response response = resilience.execute("GET", "/products/search", () -> {
+            if (calls.getAndIncrement() == 0) {
+                sleep(1_000);
+            }
+            return status(200);
+        });
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        EndpointMetrics endpoint = metrics.endpoint("GET", "/products/search");
+        assertAll(
+                ()-> assertEquals(200, response.statusCode()),
+                ()-> assertTrue(elapsedMillis < 500, "The hedge should answer long before the slow copy: " + elapsedMillis + " ms"),
+                ()-> assertEquals(1, endpoint.hedges()),
+                ()-> assertEquals(1, endpoint.hedgeWins())
+        );
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}